@@ -0,0 +1,5 @@
+interface I { void f(int a); int g(); }
+interface J extends I { void h(); }
+abstract class S implements J { public void f(int a) { } }
+class T extends S { public void h() { } }
+public class Abstract1 { }
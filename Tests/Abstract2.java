@@ -0,0 +1,5 @@
+interface I { void f(int a); }
+class B { public void f(int a) { } }
+abstract class C extends B { public abstract void f(int a); }
+class D extends C implements I { }
+public class Abstract2 { }
@@ -0,0 +1,4 @@
+abstract class P { public abstract void x(); public void y() { } }
+abstract class Q extends P { public abstract void y(); public void x() { } }
+class R extends Q { }
+public class Abstract4 { }
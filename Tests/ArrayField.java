@@ -0,0 +1,28 @@
+import Io;
+
+public class ArrayField {
+    public int[] arr;
+    public int[] other;
+    public boolean ready;
+    public int count;
+
+    public int scan(int a, int b) {
+        int n = 0;
+        for (int i = 0; ready && i < arr.length; i++)
+            n = n + a;
+        for (int i = 0; i < b; i++) {
+            count = count + 1;
+            arr = other;
+            other = arr;
+        }
+        for (int i = 0; ready && i < arr.length + other.length; i++)
+            n = n + count;
+        return n + count;
+    }
+
+    public static void main() {
+        ArrayField f = new ArrayField();
+        Io.println(f.scan(2, 3));
+        Io.println(f.count);
+    }
+}
@@ -0,0 +1,81 @@
+import Io;
+
+public class Cache {
+    public int count;
+    public int step;
+    public long sum;
+    public double avg;
+    public Cache other;
+
+    public Cache() {
+        count = 0; step = 2; sum = 0L; avg = 0.0;
+    }
+
+    public int bump() { count = count + 100; return count; }
+
+    public void plain(int n) {
+        for (int i = 0; i < n; i++) {
+            count += step;
+            sum = sum + count;
+            avg = avg + 0.5;
+        }
+    }
+
+    public void withCall(int n) {
+        int i = 0;
+        while (i < n) {
+            count++;
+            count++;
+            count++;
+            if (i == 1) bump();
+            i++;
+        }
+    }
+
+    public int early(int n) {
+        for (int i = 0; i < n; i++) {
+            count = count + step;
+            if (count > 1000) return count;
+            step = step + 1;
+        }
+        return -1;
+    }
+
+    public void aliased(int n) {
+        other = this;
+        for (int i = 0; i < n; i++) {
+            count = count + 1;
+            other.count = other.count + 1;
+            count = count + 1;
+        }
+    }
+
+    public void nested(int n) {
+        int i = 0;
+        do {
+            if (i == 3) { i++; continue; }
+            for (int j = 0; j < n; j++) {
+                step = step + 1;
+                count = count + step;
+                if (j == 2) break;
+            }
+            sum += count;
+            i++;
+            if (i > 5) break;
+        } while (i < 100);
+    }
+
+    public static void main() {
+        Cache c = new Cache();
+        c.plain(5);
+        Io.println(c.count); Io.println(c.sum); Io.println(c.avg);
+        c.withCall(4);
+        Io.println(c.count);
+        Io.println(c.early(1000));
+        Io.println(c.step);
+        c.aliased(3);
+        Io.println(c.count);
+        c.nested(4);
+        Io.println(c.count); Io.println(c.step); Io.println(c.sum);
+    }
+}
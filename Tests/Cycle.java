@@ -0,0 +1,3 @@
+class CA extends CB { }
+class CB extends CA { }
+public class Cycle { }
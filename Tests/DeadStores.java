@@ -0,0 +1,70 @@
+import Io;
+
+public class DeadStores {
+    public int f;
+
+    public static int overwritten(int a) {
+        int t = a * 2;
+        long u = 5L;
+        double d = 1.5;
+        t = a + 1;
+        u = 7L;
+        d = d + 1.0;
+        return t;
+    }
+
+    public static int branches(int a) {
+        int x = 1;
+        int y = 2;
+        if (a > 3)
+            x = a;
+        else
+            y = a;
+        int z = x;
+        z = y;
+        return x + z;
+    }
+
+    public static long inLoop(int n) {
+        long s = 0L;
+        int last = 0;
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            last = i;
+            k++;
+            s = s + i;
+        }
+        k++;
+        return s + last;
+    }
+
+    public int keepsField(int a) {
+        int t = a;
+        f = t;
+        t = 9;
+        return f;
+    }
+
+    public static int loopCarried(int n) {
+        int prev = 0;
+        int cur = 1;
+        int i = 0;
+        while (i < n) {
+            int next = prev + cur;
+            prev = cur;
+            cur = next;
+            i++;
+        }
+        return cur;
+    }
+
+    public static void main() {
+        DeadStores d = new DeadStores();
+        Io.println(overwritten(4));
+        Io.println(branches(2));
+        Io.println(branches(5));
+        Io.println(inLoop(5));
+        Io.println(d.keepsField(3));
+        Io.println(loopCarried(10));
+    }
+}
@@ -0,0 +1,70 @@
+import Io;
+
+public class Invariant {
+    public int f;
+
+    public static int sumTo(int n, int k) {
+        int s = 0;
+        for (int i = 0; i < n * k + 1; i++) {
+            s = s + (k * 3 - 1) + -k;
+        }
+        return s;
+    }
+
+    public static double scale(int n, double d) {
+        double acc = 0.0;
+        int i = 0;
+        while (i < n + 2) {
+            acc = acc + d / 2.0 + (double)n;
+            i++;
+        }
+        return acc;
+    }
+
+    public static int guarded(int n, int z) {
+        int s = 0;
+        for (int i = 0; i < n; i++) {
+            if (z != 0) s = s + n / z;
+            s = s + (n > 3 && z < 5 ? 1 : 0);
+        }
+        return s;
+    }
+
+    public static int dowhile(int a, int b) {
+        int c = 0;
+        int x = 0;
+        do {
+            int t = a + b;
+            x = x + t + (a - b);
+            c++;
+            a = a + 0;
+        } while (c < b * 2);
+        return x;
+    }
+
+    public static int dead(int a) {
+        int t = a * 2;
+        long u = 5L;
+        t = a + 1;
+        int k = 0;
+        k++;
+        switch (a) {
+        case 1: t = t + 1; break;
+        case 2: t = 7; break;
+        default: u = 3L;
+        }
+        return t;
+    }
+
+    public static void main() {
+        int unused = 0;
+        Io.println(sumTo(3, 2));
+        Io.println(scale(3, 4.0));
+        Io.println(guarded(5, 0));
+        Io.println(guarded(5, 2));
+        Io.println(dowhile(4, 3));
+        Io.println(dead(1));
+        Io.println(dead(2));
+        Io.println(dead(3));
+    }
+}
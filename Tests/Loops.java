@@ -0,0 +1,102 @@
+import Io;
+
+public class Loops {
+    public int count;
+    public int step;
+    public static int total;
+    public long big;
+    public double d;
+
+    public Loops() {
+        count = 0;
+        step = 3;
+        big = 5L;
+        d = 1.5;
+    }
+
+    public void run(int n) {
+        for (int i = 0; i < n; i++) {
+            this.count += this.step;
+            if (i % 2 == 0) {
+                count++;
+            } else if (i % 3 == 0) {
+                ++count;
+            } else {
+                count--;
+            }
+        }
+        int j = 0;
+        while (j < n) {
+            j = j + 1;
+            if (j == 5) continue;
+            if (j > 8) break;
+            total += j;
+        }
+        do {
+            j--;
+            big++;
+            d = d * 2.0;
+        } while (j > 0);
+    }
+
+    public int sw(int x) {
+        int r = 0;
+        switch (x) {
+        case 1: r = 10; break;
+        case 2: r = 20;
+        case 3: r += 30; break;
+        default: r = -1;
+        }
+        return r;
+    }
+
+    public boolean cmp(int a, int b) {
+        return a < b && b != 7 || a == 100;
+    }
+
+    public int tern(int a) {
+        return a > 5 ? a * 2 : a - 1;
+    }
+
+    public static void main() {
+        Loops l = new Loops();
+        l.run(12);
+        Io.println(l.count);
+        Io.println(total);
+        Io.println(l.big);
+        Io.println(l.d);
+        Io.println(l.sw(1));
+        Io.println(l.sw(2));
+        Io.println(l.sw(3));
+        Io.println(l.sw(9));
+        Io.println(l.cmp(1, 2));
+        Io.println(l.cmp(1, 7));
+        Io.println(l.cmp(100, 7));
+        Io.println(l.tern(3));
+        Io.println(l.tern(9));
+        int k = 0;
+        long acc = 0L;
+        double dd = 0.0;
+        for (int i = 0; i < 10; i++) {
+            for (int m = 0; m < 10; m++) {
+                if (m == i) continue;
+                acc += i * m;
+                k++;
+            }
+            dd += 0.5;
+        }
+        Io.println(k);
+        Io.println(acc);
+        Io.println(dd);
+        int x = 5;
+        x <<= 2;
+        x -= 3;
+        Io.println(x);
+        Io.println(x++);
+        Io.println(++x);
+        Io.println(-x);
+        Io.println(~x);
+        boolean b = !(x > 3);
+        Io.println(b);
+    }
+}
@@ -0,0 +1,7 @@
+public class Overloads {
+    void f(int a, long b) { }
+    void f(long a, int b) { }
+    void g(int a) { }
+    void g(long a) { }
+    void h() { g(1); g(1); g(2L); f(1,2L); f(1,2); }
+}
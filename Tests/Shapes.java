@@ -0,0 +1,67 @@
+import Io;
+
+abstract class Shape {
+    public int id;
+    public abstract double area();
+    public void setId(int i) { id = i; }
+    public int getId() { return id; }
+}
+
+interface Named {
+    public String name();
+}
+
+class Rect extends Shape implements Named {
+    public double w, h;
+    public Rect(double w, double h) { this.w = w; this.h = h; }
+    public double area() { return w * h; }
+    public String name() { return "rect"; }
+}
+
+class Square extends Rect {
+    public Square(double s) { super(s, s); }
+    public String name() { return "square"; }
+}
+
+class Counter {
+    public static int n = 0;
+    public int v = 7;
+    public void bump() { n++; v += 2; }
+    public int get(int a) { return a + v; }
+    public int get(long a) { return 99; }
+    public double get(double a) { return a; }
+}
+
+public class Shapes {
+    public static void show(Rect n) {
+        Io.println(n.name());
+    }
+
+    public static void main() {
+        Shape s = new Rect(2.0, 3.0);
+        Io.println(s.area());
+        Square q = new Square(4.0);
+        Io.println(q.area());
+        show(q);
+        show((Rect)s);
+        q.setId(42);
+        Io.println(q.getId());
+        Counter c = new Counter();
+        int i = 0;
+        while (i < 5) {
+            c.bump();
+            i = i + 1;
+        }
+        Io.println(Counter.n);
+        Io.println(c.v);
+        Io.println(c.get(3));
+        Io.println(c.get(3L));
+        Io.println(c.get(2.5));
+        Io.println(s instanceof Rect);
+        Object o = q;
+        Io.println(o == null);
+        Io.println(q != null);
+        int t = i > 3 ? 1 : 0;
+        Io.println(t);
+    }
+}
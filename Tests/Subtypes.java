@@ -0,0 +1,11 @@
+interface A { }
+interface B extends A { }
+interface C extends A { }
+class P implements B, C { }
+class Q extends P { }
+class R extends P { }
+public class Subtypes {
+    void f(A a) { }
+    void g(Q q) { }
+    void h(boolean c) { Q q = new Q(); R r = new R(); f(q); f(r); A a = c ? q : r; P p = (P)a; C x = c ? q : r; g(r); }
+}
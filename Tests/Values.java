@@ -0,0 +1,48 @@
+import Io;
+
+public class Values {
+    public int f;
+    public long g;
+    public static int s;
+    public static double sd;
+
+    public int id(int x) { return x; }
+
+    public static void main() {
+        Values v = new Values();
+        int a = 0;
+        long b = 1L;
+        double c = 2.0;
+        a++; ++a; a--; --a; a++;
+        b++; ++b; b--;
+        c++; --c; c++;
+        v.f++; ++v.f; v.f--; v.g++; ++v.g;
+        s++; ++s; sd++; --sd; Values.s++;
+        Io.println(a); Io.println(b); Io.println(c);
+        Io.println(v.f); Io.println(v.g); Io.println(s); Io.println(sd);
+        int x = a++;
+        int y = ++a;
+        long z = b++;
+        double w = ++c;
+        int q = v.f++;
+        int r = ++v.f;
+        long t = v.g++;
+        int u = s++;
+        Io.println(x); Io.println(y); Io.println(z); Io.println(w);
+        Io.println(q); Io.println(r); Io.println(t); Io.println(u);
+        int m;
+        int n = m = 7;
+        Io.println(n); Io.println(m);
+        Io.println(v.id(m = 9));
+        Io.println(m);
+        v.f = v.g2(a += 3);
+        Io.println(v.f);
+        Io.println(a);
+        if ((m = 4) > 3) Io.println(m);
+        v.f = s = 11;
+        Io.println(v.f); Io.println(s);
+        Io.println(v.f++ + ++v.f);
+    }
+
+    public int g2(int x) { return x * 2; }
+}
@@ -1,7 +1,8 @@
 package AST;
 import Utilities.Visitor;
 
-public abstract class AST {
+public abstract class AST implements java.io.Serializable {
+	private static final long serialVersionUID = 1L;
 
 	public int line, charBegin;
 	public int nchildren = 0;
@@ -81,8 +82,11 @@ public abstract class AST {
 	public abstract Object visit(Visitor v);
 
 	/** Visit all children of this node from left to right.  Usually
-	called from within a visitor */
+	called from within a visitor. In a fused walk (see Utilities.FusedVisitor)
+	the walk visits the children, so nothing is done here. */
 	public Object visitChildren(Visitor v) {
+		if (v.inFusedWalk())
+			return null;
 		for (int c = 0; c < nchildren; c++) 
 			if (children[c] != null) 
 				children[c].visit(v);
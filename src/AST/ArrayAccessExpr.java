@@ -3,6 +3,7 @@ package AST;
 import Utilities.Visitor;
 
 public class ArrayAccessExpr extends Expression {
+	private static final long serialVersionUID = 1L;
 
 	public ArrayAccessExpr(Expression target, Expression index) {
 		super(target);
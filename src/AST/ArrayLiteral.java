@@ -3,6 +3,7 @@ package AST;
 import Utilities.Visitor;
 
 public class ArrayLiteral extends Expression {
+	private static final long serialVersionUID = 1L;
 
 	public ArrayLiteral(Sequence seq) {
 		super(seq);
@@ -3,9 +3,15 @@ package AST;
 import Utilities.Visitor;
 
 public class ArrayType extends Type {
+	private static final long serialVersionUID = 1L;
 
 	private int depth = 0; // How many set of [ ] were there?
 
+	// The signature is kept as long as the signature of the base type is the same String.
+	private transient String baseSignature = null;
+	private transient String signature = null;
+	private transient Type elementType = null;
+
 	public ArrayType(Type baseType, int depth) {
 		super(baseType);
 		nchildren = 1;
@@ -21,15 +27,29 @@ public class ArrayType extends Type {
 		return depth; 
 	}
 
+	// elementType: the type of the elements of the array; made once per array type.
+	public Type elementType() {
+		if (depth == 1)
+			return baseType();
+		if (elementType == null)
+			elementType = new ArrayType(baseType(), depth-1);
+		return elementType;
+	}
+
 	public String toString() {
 		return "(ArrayType: " + typeName() + ")";
 	}
 
 	public String signature() {
-		String s = "";
-		for (int i=0;i<depth; i++)
-			s += "[";				
-		return s + baseType().signature();
+		String base = baseType().signature();
+		if (base != baseSignature) {
+			String s = "";
+			for (int i=0;i<depth; i++)
+				s += "[";				
+			signature = (s + base).intern();
+			baseSignature = base;
+		}
+		return signature;
 	}
 
 	public String typeName() {
@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class Assignment extends Expression {
+	private static final long serialVersionUID = 1L;
     
     public Assignment(Expression /* Name, FieldRef or ArrayAccess only */ left, Expression right,
 	       AssignmentOp op) {
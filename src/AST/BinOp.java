@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class BinOp extends AST {
+	private static final long serialVersionUID = 1L;
 
     public int kind;
 
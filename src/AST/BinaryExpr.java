@@ -4,6 +4,7 @@ import Utilities.Visitor;
 import java.math.*;
 
 public class BinaryExpr extends Expression {
+	private static final long serialVersionUID = 1L;
 
 	public BinaryExpr(Expression left, Expression right, BinOp op) {
 		super(left);
@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class Block extends Statement {
+	private static final long serialVersionUID = 1L;
     
     public Block(Sequence /* of Statements */ stats) {
 	super(stats);
@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class BreakStat extends Statement {
+	private static final long serialVersionUID = 1L;
 
     public BreakStat(Token b) {
 	super(b);
@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class CInvocation extends Expression {
+	private static final long serialVersionUID = 1L;
 
 	public ConstructorDecl constructor; // This one is needed in the code generation phase
 	public ClassDecl targetClass; // This one is needed for modifier checking
@@ -4,6 +4,7 @@ import Utilities.Visitor;
 import java.math.*;
 
 public class CastExpr extends Expression {
+	private static final long serialVersionUID = 1L;
 
 	public CastExpr(Type ct, Expression expr) {
 		super(ct);
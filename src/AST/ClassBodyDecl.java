@@ -3,8 +3,10 @@ import java.util.*;
 import Instruction.Instruction;
 
 public abstract class ClassBodyDecl extends AST {
+	private static final long serialVersionUID = 1L;
 
 	private Vector<Instruction> code;  // Set in CodeGenerator.java
+	private Vector<Instruction> optimizedCode; // Set in Optimizer.java (Phase 7)
 
 	public int localsUsed = 1;
 
@@ -28,8 +30,15 @@ public abstract class ClassBodyDecl extends AST {
 		this.code = code;
 	}
 
+	public void setOptimizedCode(Vector<Instruction> optimizedCode) {
+		this.optimizedCode = optimizedCode;
+	}
+
+	// Returns the code produced by the optimizer, or the unoptimized
+	// code if the optimizer has not been run on this method.
 	public Vector<Instruction> getOptmizedCode() {
-		//return cfg.getAllCode();
-	return getCode();
+		if (optimizedCode != null)
+			return optimizedCode;
+		return getCode();
 	}
 }
@@ -2,9 +2,11 @@ package AST;
 //<--
 import Utilities.SymbolTable;
 import Utilities.Visitor;
+import Utilities.Error;
 import Jasmin.ClassFile;
 
 public class ClassDecl extends AST {
+	private static final long serialVersionUID = 1L;
 	//<--
 	public Modifiers modifiers;
 	public ClassFile classFile; // contains the bytecode instructions for this class
@@ -14,6 +16,8 @@ public class ClassDecl extends AST {
 	
 	private boolean generateCode = true; // imported files need not generate code cause their
 	// respective class files are located in the Include/Library folder.
+	public String sourceFile = null; // the file this class was declared in (null for imported classes)
+	public String importFile = null; // the Include or Library file an imported class was read from
 
         public static int interSectionTypeCounter = 1;
     
@@ -23,6 +27,28 @@ public class ClassDecl extends AST {
 	public Sequence allMethods      = new Sequence(); // all concrete and abstract methods in the class hierarchy
 	public Sequence constructors    = new Sequence(); // all constructors for this class.
 
+	// Flattened member tables, built once by NameChecker.ClassMembers: the methods (name -> table of
+	// overloads) and fields visible in this class, inherited ones included, and all the methods of the
+	// class hierarchy. They are only used while name and type checking, so they are not serialized.
+	public transient java.util.HashMap<String,SymbolTable> visibleMethods = null;
+	public transient java.util.HashMap<String,AST> visibleFields = null;
+	public transient Sequence hierarchyMethods = null;
+	public transient boolean buildingMembers = false;
+	// The abstract methods of the class hierarchy that are not implemented, and the concrete methods
+	// of the class and its superclasses, as 'void foo( int double )'. Built by NameChecker.ClassMembers.
+	public transient java.util.HashSet<String> abstractMethods = null;
+	public transient java.util.HashSet<String> concreteMethods = null;
+
+	// The supertypes of the class as a set of hierarchy ids: every class is given an id the first
+	// time its supertypes are needed, and the set holds the ids of the class itself, its
+	// superclasses and every interface it implements. See supertypes() and Type.isSuper().
+	private static int nextHierarchyId = 0;
+	private transient int hierarchyId;
+	private transient java.util.BitSet supertypes = null;
+	private transient boolean buildingSupertypes = false;
+
+	private ClassType classType = null; // see classType()
+
 	public static final boolean IS_INTERFACE = true;
 	public static final boolean IS_NOT_INTERFACE = false;
 	public boolean m_class = false, 
@@ -77,6 +103,46 @@ public class ClassDecl extends AST {
 		return this.modifiers;
 	}
 
+	// supertypes: the hierarchy ids of this class and all its supertypes. The set is made from the
+	//             sets of the superclass and the interfaces, so every class is only walked once.
+	public java.util.BitSet supertypes() {
+		if (supertypes != null)
+			return supertypes;
+		if (buildingSupertypes)
+			Error.error(this,"Cyclic inheritance involving " + name());
+		buildingSupertypes = true;
+		java.util.BitSet s = new java.util.BitSet();
+		if (superClass() != null)
+			s.or(superClass().myDecl.supertypes());
+		for (int i=0; i<interfaces().nchildren; i++)
+			s.or(((ClassType)interfaces().children[i]).myDecl.supertypes());
+		hierarchyId = nextHierarchyId++;
+		s.set(hierarchyId);
+		supertypes = s;
+		buildingSupertypes = false;
+		return s;
+	}
+
+	// classType: the type of objects of this class, shared by the expressions that have it. It is
+	//            not part of the parse tree, so it must not be used as a child of a node.
+	public ClassType classType() {
+		if (classType == null) {
+			classType = new ClassType(className());
+			classType.myDecl = this;
+		}
+		return classType;
+	}
+
+	// isSubtypeOf: true if 'sup' is this class or one of its superclasses or interfaces.
+	public boolean isSubtypeOf(ClassDecl sup) {
+		return supertypes().get(sup.hierarchyId());
+	}
+
+	private int hierarchyId() {
+		supertypes();
+		return hierarchyId;
+	}
+
 	/* *********************************************************** */
 	/* **                                                       ** */
 	/* ** Generic Visitor Stuff                                 ** */
@@ -2,9 +2,14 @@ package AST;
 import Utilities.Visitor;
 
 public class ClassType extends Type {
+	private static final long serialVersionUID = 1L;
 
 	public ClassDecl myDecl; // Point to the class representing this class type
     public Boolean isIntersectionType = false; // used for ternary expressions with class types in both branches.
+
+	// The signature is kept until the name changes (Object is renamed to java/lang/Object before code generation).
+	private transient String signatureName = null;
+	private transient String signature = null;
     
 	public ClassType(Name className) { 
 		super(className);
@@ -40,7 +45,15 @@ public class ClassType extends Type {
 	}
     
 	public String signature() {
-		return "L"+typeName()+";";
+		// the name of an intersection type lists its supertypes, which may be renamed.
+		if (isIntersectionType)
+			return "L"+typeName()+";";
+		String name = name().getname();
+		if (name != signatureName) {
+			signature = ("L"+name+";").intern();
+			signatureName = name;
+		}
+		return signature;
 	}
 
 
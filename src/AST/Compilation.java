@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class Compilation extends AST {
+	private static final long serialVersionUID = 1L;
 
 	public Compilation(Sequence types) {
 		super(types);
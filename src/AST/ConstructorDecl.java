@@ -3,8 +3,10 @@ import Utilities.Visitor;
 import java.util.*;
 
 public class ConstructorDecl extends ClassBodyDecl  {
+	private static final long serialVersionUID = 1L;
 
 	private Modifiers modifiers;
+	private transient MethodSignature signature = null;
 
         public HashSet<String> initializedFields= new HashSet<String>();
     
@@ -30,13 +32,24 @@ public class ConstructorDecl extends ClassBodyDecl  {
 		return name().getname();
 	}   
 
+	private MethodSignature signature() {
+		if (signature == null)
+			signature = new MethodSignature();
+		return signature.update(params(), null);
+	}
+
 	public String paramSignature() {
-		String s = "";
-		Sequence params = params();
+		return signature().params();
+	}
+
+	// descriptor: the signature of the constructor as it is used in the Jasmin code, like (IZ)V.
+	public String descriptor() {
+		return signature().descriptor();
+	}
 
-		for (int i=0;i<params.nchildren;i++)
-			s = s + ((ParamDecl)params.children[i]).type().signature();
-		return s;
+	// parsedParamSignature: the parameter types as they are written in messages, like ' int boolean'.
+	public String parsedParamSignature() {
+		return signature().parsedParams();
 	}
 
 	public boolean isStatic() {
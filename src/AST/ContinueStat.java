@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class ContinueStat extends Statement {
+	private static final long serialVersionUID = 1L;
 
 	public ContinueStat(Token c) {
 		super(c);
@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class DoStat extends Statement {
+	private static final long serialVersionUID = 1L;
 
 	public DoStat(Statement stat, Expression expr) {
 		super(expr);
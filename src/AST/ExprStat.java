@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class ExprStat extends Statement {
+	private static final long serialVersionUID = 1L;
 
 	public ExprStat(Expression expression) {
 		super(expression);
@@ -1,6 +1,7 @@
 package AST;
 
 public abstract class Expression extends AST {
+	private static final long serialVersionUID = 1L;
 
 	public Type type = null;
 
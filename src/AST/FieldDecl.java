@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class FieldDecl extends ClassBodyDecl implements VarDecl  {
+	private static final long serialVersionUID = 1L;
 
 	public Modifiers modifiers;
 	public boolean interfaceMember = false;
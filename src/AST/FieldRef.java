@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class FieldRef extends Expression {
+	private static final long serialVersionUID = 1L;
 
 	public Type targetType; // needed for code generation and modifier checking
 	public FieldDecl myDecl;
@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class ForStat extends Statement {
+	private static final long serialVersionUID = 1L;
 
 	/* Note that init() and incr() can be null */
 
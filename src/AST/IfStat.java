@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class IfStat extends Statement {
+	private static final long serialVersionUID = 1L;
 
 	/** Note that elsepart() can return null! */
 
@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class Invocation extends Expression {
+	private static final long serialVersionUID = 1L;
 
 	/** Note target() can return null */
 
@@ -5,6 +5,7 @@ import Utilities.Visitor;
 import java.math.*;
 
 public class Literal extends Expression {    
+	private static final long serialVersionUID = 1L;
 
 	public final static int BooleanKind = 1; // either true or false
 	public final static int ByteKind    = 2; // 8 bit signed:                  -128 -> 127
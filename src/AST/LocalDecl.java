@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class LocalDecl extends Statement implements VarDecl  {
+	private static final long serialVersionUID = 1L;
 
 	public int address = -1;
 
@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class MethodDecl extends ClassBodyDecl  {
+	private static final long serialVersionUID = 1L;
     /**
      * The class to which this method belongs.<br>
      * This is set in the visitMethodDecl() in ClassAndMemberFinder.java
@@ -12,6 +13,7 @@ public class MethodDecl extends ClassBodyDecl  {
     private ClassDecl myClass; 
     private Modifiers modifiers;
     private boolean interfaceMember = false;
+    private transient MethodSignature signature = null;
     
     public MethodDecl(Sequence /* of Modifier */ modifiers,
 		      Type returnType, Name name, 
@@ -36,13 +38,24 @@ public class MethodDecl extends ClassBodyDecl  {
 	return name().getname();
     }   
     
+    private MethodSignature signature() {
+	if (signature == null)
+	    signature = new MethodSignature();
+	return signature.update(params(), returnType());
+    }
+
     public String paramSignature() {
-	String s = "";
-	Sequence params = params();
-	
-	for (int i=0;i<params.nchildren;i++)
-	    s = s + ((ParamDecl)params.children[i]).type().signature();
-	return s;
+	return signature().params();
+    }
+
+    // descriptor: the signature of the method as it is used in the Jasmin code, like (IZ)V.
+    public String descriptor() {
+	return signature().descriptor();
+    }
+
+    // parsedParamSignature: the parameter types as they are written in messages, like ' int boolean'.
+    public String parsedParamSignature() {
+	return signature().parsedParams();
     }
     
     public boolean isStatic() {
@@ -0,0 +1,61 @@
+package AST;
+
+/** MethodSignature keeps the signature strings of a method or constructor:
+ * the parameter signature ("ILjava/lang/String;"), the descriptor used in
+ * the Jasmin code ("(ILjava/lang/String;)V") and the parameter list as it
+ * is written in error messages (" int String").
+ *
+ * The strings are made once and shared by the name checker, the type
+ * checker and the code generator. They are only made again if the
+ * signature of a parameter or return type changes, which happens when
+ * Object is renamed to java/lang/Object before code generation; type
+ * signatures are cached Strings, so that check is a reference compare per
+ * parameter.
+ */
+class MethodSignature {
+	private String[] parts = null; // the type signatures the strings were made from
+	private String returnPart = null;
+	private String params;
+	private String descriptor;
+	private String parsedParams;
+
+	// update: makes sure the strings are made from the current types of 'params' and 'returnType'
+	//         (null for a constructor).
+	MethodSignature update(Sequence params, Type returnType) {
+		String ret = (returnType == null) ? "V" : returnType.signature();
+		if (parts != null && parts.length == params.nchildren && ret == returnPart) {
+			int i = 0;
+			while (i < parts.length && parts[i] == ((ParamDecl)params.children[i]).type().signature())
+				i++;
+			if (i == parts.length)
+				return this;
+		}
+		parts = new String[params.nchildren];
+		StringBuilder s = new StringBuilder();
+		for (int i=0; i<params.nchildren; i++) {
+			parts[i] = ((ParamDecl)params.children[i]).type().signature();
+			s.append(parts[i]);
+		}
+		returnPart = ret;
+		this.params = s.toString();
+		descriptor = null;
+		parsedParams = null;
+		return this;
+	}
+
+	String params() {
+		return params;
+	}
+
+	String descriptor() {
+		if (descriptor == null)
+			descriptor = "(" + params + ")" + returnPart;
+		return descriptor;
+	}
+
+	String parsedParams() {
+		if (parsedParams == null)
+			parsedParams = Type.parseSignature(params);
+		return parsedParams;
+	}
+}
@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class Modifier extends AST {
+	private static final long serialVersionUID = 1L;
 
 	private int modifier = -1;
 
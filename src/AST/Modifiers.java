@@ -1,7 +1,8 @@
 package AST;
 import Utilities.Error;
 
-public class Modifiers {
+public class Modifiers implements java.io.Serializable {
+	private static final long serialVersionUID = 1L;
 	// This class is not part of the Abstract Syntax Hierarchy, it just makes
 	// life easier when it comes to dealing with modifiers.
 
@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class Name extends AST {
+	private static final long serialVersionUID = 1L;
 	private String id;
 	private int arrayDepth = 0; // somewhat of a hack - we keep track of 
 	// whether this name is an id in a variable declaration with [] on. 
@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class NameExpr extends Expression {    
+	private static final long serialVersionUID = 1L;
 
 	// A name expression can represent a variable name (local, parameter or field) or
 	// it can be a class name as well.
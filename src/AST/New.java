@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class New extends Expression {
+	private static final long serialVersionUID = 1L;
 
 	private ConstructorDecl constructor = null; // This is needed in the code generation phase.
 
@@ -3,6 +3,7 @@ package AST;
 import Utilities.Visitor;
 
 public class NewArray extends Expression {
+	private static final long serialVersionUID = 1L;
 
 	public NewArray(Type type, Sequence dimsExpr, Sequence dims, ArrayLiteral init) {
 		super(type);
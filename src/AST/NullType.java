@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class NullType extends Type {
+	private static final long serialVersionUID = 1L;
 
 	/** This type does not occur in the parse tree! it is
 	for type checking purposes only */
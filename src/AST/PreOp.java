@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class PreOp extends AST {
+	private static final long serialVersionUID = 1L;
 
 	public static final int PLUSPLUS   = 1; // ++
 	public static final int MINUSMINUS = 2; // --
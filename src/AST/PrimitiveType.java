@@ -3,6 +3,7 @@ package AST;
 import Utilities.Visitor;
 
 public class PrimitiveType extends Type {
+	private static final long serialVersionUID = 1L;
 
 	public final static int BooleanKind = Literal.BooleanKind;
 	public final static int CharKind = Literal.CharKind;
@@ -20,6 +21,9 @@ public class PrimitiveType extends Type {
 									  "String", "void" };
 	private int kind;
 
+	// The types the compiler makes itself (types of expressions) are shared; see get().
+	private static PrimitiveType[] canonical = new PrimitiveType[names.length];
+
 	public PrimitiveType(Token p_t, int kind) {
 		super(p_t);
 		this.kind = kind;
@@ -30,6 +34,13 @@ public class PrimitiveType extends Type {
 		this.kind = kind;
 	}
 
+	// get: the shared instance of the primitive type 'kind'. It is not part of the parse tree,
+	//      so it must not be used as a child of a node.
+	public static PrimitiveType get(int kind) {
+		if (canonical[kind] == null)
+			canonical[kind] = new PrimitiveType(kind);
+		return canonical[kind];
+	}
 	
 	public static int ceiling(PrimitiveType p1, PrimitiveType p2) {
 		if (p1.kind < p2.kind)
@@ -39,7 +50,7 @@ public class PrimitiveType extends Type {
 
 	public static PrimitiveType ceilingType(PrimitiveType p1, PrimitiveType p2) {
 		if (p1.kind < IntKind && p2.kind < IntKind)
-			return new PrimitiveType(IntKind);
+			return get(IntKind);
 
 		if (p1.kind < p2.kind)
 			return p2;
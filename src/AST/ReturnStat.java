@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class ReturnStat extends Statement {
+	private static final long serialVersionUID = 1L;
 
 	private Type type; // this will be the return type of the method in which the ReturnStat appears 
 
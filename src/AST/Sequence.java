@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class Sequence extends AST {
+	private static final long serialVersionUID = 1L;
 
 	public Sequence() {
 		super(0, 0);
@@ -11,7 +12,7 @@ public class Sequence extends AST {
 	public Sequence(AST element) {
 		super(element);
 		nchildren = 1;
-		children = new AST[10];
+		children = new AST[4];
 		children[0] = element;
 	}
 
@@ -31,6 +32,15 @@ public class Sequence extends AST {
 		return this;
 	}
 
+	// trim: shrinks the child array to exactly nchildren entries.
+	public void trim() {
+		if (children == null || children.length == nchildren)
+			return;
+		AST[] c = new AST[nchildren];
+		System.arraycopy(children, 0, c, 0, nchildren);
+		children = c;
+	}
+
 	public Sequence merge(Sequence others) {
 		if (others == null || others.nchildren == 0) return this;
 		int i;
@@ -1,6 +1,7 @@
 package AST;
 
 public abstract class Statement extends AST {
+	private static final long serialVersionUID = 1L;
 
 	public Statement(Token t) {
 		super(t);
@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 import java.util.*;
 public class StaticInitDecl extends ClassBodyDecl {
+	private static final long serialVersionUID = 1L;
 
         public HashSet<String> initializedFields= new HashSet<String>();
     
@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class Super extends Expression {
+	private static final long serialVersionUID = 1L;
     //public ClassType type;
 
 	public Super(Token p_t) {
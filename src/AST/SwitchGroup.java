@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class SwitchGroup extends AST {
+	private static final long serialVersionUID = 1L;
 
 	private String label; // used in the code generation phase.    
 
@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class SwitchStat extends Statement {
+	private static final long serialVersionUID = 1L;
 
 	public SwitchStat(Expression expr,
 			Sequence /* SwitchGroup */ switchBlocks) {
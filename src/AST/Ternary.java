@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class Ternary extends Expression {
+	private static final long serialVersionUID = 1L;
 
 	public Ternary(Expression expr, Expression trueBranch, Expression falseBranch) {
 		super(expr);
@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class This extends Expression {
+	private static final long serialVersionUID = 1L;
 
 	public This(Token p_t) {
 		super(p_t);
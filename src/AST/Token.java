@@ -1,6 +1,7 @@
 package AST;
 
-public class Token {
+public class Token implements java.io.Serializable {
+    private static final long serialVersionUID = 1L;
     private int sym;
     private String lexeme;
     private int line;
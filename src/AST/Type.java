@@ -2,6 +2,7 @@ package AST;
 import Utilities.Error;
 
 public abstract class Type extends AST {
+	private static final long serialVersionUID = 1L;
 
 	public Type(AST a) {
 		super(a);
@@ -35,6 +36,10 @@ public abstract class Type extends AST {
 	}
 
 	public boolean identical(Type other) {
+		// Shared types (PrimitiveType.get(), ClassDecl.classType()) are the same object, and the
+		// signatures of class and array types are interned, so equal ones compare by reference.
+		if (this == other)
+			return true;
 		// TODO this was changed 3/29/12 from typename() to signature()
 		if (signature().equals(other.signature()))	    
 			return true;
@@ -179,23 +184,7 @@ public abstract class Type extends AST {
 	}
 	
 	public static boolean isSuper(ClassType sup, ClassType sub) {
-	    ClassDecl supd = sup.myDecl;
-	    ClassDecl subd = sub.myDecl;
-
-	    if (supd.name().equals(subd.name())) {
-		return true;
-	    }
-
-		// Take the sub classes super class
-		ClassType subdsuper = subd.superClass();
-		boolean found = false;
-		if (subdsuper != null) 
-			found = isSuper(sup, subdsuper);
-		for (int i=0; i<subd.interfaces().nchildren; i++) {
-			found = found || isSuper(sup, (ClassType)subd.interfaces().children[i]);
-		}
-		return found;
-
+		return sub.myDecl.isSubtypeOf(sup.myDecl);
 	}
 
 }             
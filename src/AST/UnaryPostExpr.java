@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class UnaryPostExpr extends Expression {
+	private static final long serialVersionUID = 1L;
 
 	public UnaryPostExpr(Expression expr, PostOp op) {
 		super(expr);
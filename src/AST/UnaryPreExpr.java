@@ -5,6 +5,7 @@ import Utilities.Visitor;
 import java.math.*;
 
 public class UnaryPreExpr extends Expression {
+	private static final long serialVersionUID = 1L;
 
 	public UnaryPreExpr(Expression expr, PreOp op) {
 		super(expr);
@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class Var extends AST {
+	private static final long serialVersionUID = 1L;
 
 	// Points to either its FieldDecl or LocalDecl. 
 	public VarDecl myDecl = null;
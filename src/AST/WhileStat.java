@@ -2,6 +2,7 @@ package AST;
 import Utilities.Visitor;
 
 public class WhileStat extends Statement {
+	private static final long serialVersionUID = 1L;
 
 	public WhileStat(Expression expr, Statement stat) {
 		super(expr);
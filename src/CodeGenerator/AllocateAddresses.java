@@ -26,7 +26,7 @@ class AllocateAddresses extends Visitor {
 		}
 		//super.visitLocalDecl(ld);
 		//ld.localsUsed = gen.getAddress();
-		println(ld.line + ": LocalDecl:\tAssigning address:  " + ld.address + " to local variable '" + ld.var().name().getname() + "'.");
+		if (debug) println(ld.line + ": LocalDecl:\tAssigning address:  " + ld.address + " to local variable '" + ld.var().name().getname() + "'.");
 		return null;
 	}
 
@@ -42,13 +42,13 @@ class AllocateAddresses extends Visitor {
 			gen.incAddress();
 		}
 
-		println(pd.line + ": ParamDecl:\tAssigning address:  " + pd.address + " to parameter '" + pd.paramName().getname() + "'.");
+		if (debug) println(pd.line + ": ParamDecl:\tAssigning address:  " + pd.address + " to parameter '" + pd.paramName().getname() + "'.");
 		return null;
 	}
 
 	// METHOD DECLARATION
 	public Object visitMethodDecl(MethodDecl md) {
-		println(md.line + ": MethodDecl:\tResetting address counter for method '" + md.name().getname() + "'.");
+		if (debug) println(md.line + ": MethodDecl:\tResetting address counter for method '" + md.name().getname() + "'.");
 		// YOUR CODE HERE
 		if (md.isStatic()) {
 			gen.setAddress(0);
@@ -58,29 +58,29 @@ class AllocateAddresses extends Visitor {
 		}
 		super.visitMethodDecl(md);
 		md.localsUsed = gen.getAddress();
-		println(md.line + ": End MethodDecl");	
+		if (debug) println(md.line + ": End MethodDecl");	
 		return null;
 	}
 
 
 	// CONSTRUCTOR DECLARATION
 	public Object visitConstructorDecl(ConstructorDecl cd) {	
-		println(cd.line + ": ConstructorDecl:\tResetting address counter for constructor '" + cd.name().getname() + "'.");
+		if (debug) println(cd.line + ": ConstructorDecl:\tResetting address counter for constructor '" + cd.name().getname() + "'.");
 		gen.setAddress(1);
 		super.visitConstructorDecl(cd);
 		cd.localsUsed = gen.getAddress();
-		println(cd.line + ": End ConstructorDecl");
+		if (debug) println(cd.line + ": End ConstructorDecl");
 		return null;
 	}
 
 	// STATIC INITIALIZER
 	public Object visitStaticInitDecl(StaticInitDecl si) {
-		println(si.line + ": StaticInit:\tResetting address counter for static initializer for class '" + currentClass.name() + "'.");
+		if (debug) println(si.line + ": StaticInit:\tResetting address counter for static initializer for class '" + currentClass.name() + "'.");
 		// YOUR CODE HERE
 		gen.setAddress(0);
 		super.visitStaticInitDecl(si);
 		si.localsUsed = gen.getAddress();
-		println(si.line + ": End StaticInit");
+		if (debug) println(si.line + ": End StaticInit");
 		return null;
 	}
 }
@@ -4,6 +4,12 @@ import AST.*;
 
 public class CodeGenerator {
     public void generate(Compilation program, boolean debug) {
+	generate(program, debug, false);
+    }
+
+    // optimizeLoops is set when the optimizer runs (Phase 7): loops then get field caching and
+    // loop-invariant code motion (see GenerateCode).
+    public void generate(Compilation program, boolean debug, boolean optimizeLoops) {
 	int i;
 	if (debug) 
 	    System.out.println("---------------------------------------------------------");
@@ -11,7 +17,7 @@ public class CodeGenerator {
 	for (i=0; i<program.types().nchildren;i++) {
 	    ClassDecl cd = (ClassDecl)program.types().children[i];
 	    if (!cd.generateCode()) {
-		System.out.println("Not generating code for '" + cd.name() + "'");
+		Utilities.Log.info("Not generating code for '" + cd.name() + "'");
 		continue;
 	    }
 	    if (!Utilities.Settings.generateEVMCode) {
@@ -21,6 +27,9 @@ public class CodeGenerator {
 		    cd.name().equals("java/lang/Object"))
 		    continue;
 	    }
+	    // errors found in this class are reported against the file it came from.
+	    if (cd.sourceFile != null)
+		Utilities.Error.setFileName(cd.sourceFile);
 	    // The header of the class is printed out here!
 	    Generator g = new Generator(cd, debug);
 	    if (debug)
@@ -28,7 +37,7 @@ public class CodeGenerator {
 	    cd.visit(new AllocateAddresses(g, cd, debug));
 	    if (debug)
 		System.out.println("\n** Generating Bytecode Instructions:");
-	    cd.visit(new GenerateCode(g, debug));
+	    cd.visit(new GenerateCode(g, debug, optimizeLoops));
 	    cd.classFile = g.getClassFile();
 	}
 	
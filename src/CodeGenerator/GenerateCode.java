@@ -16,8 +16,12 @@ class GenerateCode extends Visitor {
 	private boolean insideLoop = false;
 	private boolean insideSwitch = false;
 	private ClassFile classFile;
-	private boolean RHSofAssignment = false;
+	private boolean resultNeeded = true; // false if the value of an assignment or ++/-- is discarded (see visitExprStat)
 	private boolean StringBuilderCreated = false;
+	private boolean optimizeLoops = false; // cache fields and hoist invariant expressions in loops (Phase 7)
+	private LinkedHashMap<FieldDecl,Integer> cachedFields = new LinkedHashMap<FieldDecl,Integer>(); // field -> local address
+	private LinkedHashSet<FieldDecl> dirtyFields = new LinkedHashSet<FieldDecl>(); // cached fields that are assigned in the loop
+	private Hashtable<Expression,Integer> hoisted = new Hashtable<Expression,Integer>(); // loop invariant expression -> local address
 	
 	
 	public GenerateCode(Generator g, boolean debug) {
@@ -26,15 +30,160 @@ class GenerateCode extends Visitor {
 		classFile = gen.getClassFile();
 	}
 
+	public GenerateCode(Generator g, boolean debug, boolean optimizeLoops) {
+		this(g, debug);
+		this.optimizeLoops = optimizeLoops;
+	}
+
 	public void setCurrentClass(ClassDecl cd) {
 		this.currentClass = cd;
 	}
 
+	// FIELD CACHING (only when optimizeLoops is set)
+
+	// isCachedField: true if 'expr' is a reference to a field of 'this' that is currently kept in a local.
+	private boolean isCachedField(Expression expr) {
+		if (!(expr instanceof FieldRef))
+			return false;
+		FieldRef fr = (FieldRef)expr;
+		return fr.myDecl != null && fr.target() instanceof This && cachedFields.containsKey(fr.myDecl);
+	}
+
+	// localAddress: returns the address of the local holding 'expr' (a local/parameter or a cached field).
+	private int localAddress(Expression expr) {
+		if (expr instanceof NameExpr)
+			return ((VarDecl)((NameExpr)expr).myDecl).address();
+		return cachedFields.get(((FieldRef)expr).myDecl);
+	}
+
+	// cacheLoopFields: picks the fields of 'this' worth caching for the loop made up of 'parts', gives
+	//                  each a new local and loads it. Returns the fields so uncacheLoopFields can write
+	//                  them back at the loop exit. Fields already cached by an outer loop are left alone.
+	private Vector<FieldDecl> cacheLoopFields(AST... parts) {
+		Vector<FieldDecl> fields = new Vector<FieldDecl>();
+		ClassBodyDecl method = classFile.getCurrentMethod().getMethod();
+		if (!optimizeLoops || method.isStatic())
+			return fields;
+
+		LoopFieldUsage usage = new LoopFieldUsage(debug);
+		for (AST part : parts)
+			if (part != null)
+				part.visit(usage);
+
+		for (FieldDecl fd : usage.cacheable()) {
+			if (cachedFields.containsKey(fd))
+				continue;
+			int address = method.localsUsed;
+			method.localsUsed += fd.type().width();
+			if (debug) println("Caching field '" + fd.name() + "' in local " + address + ".");
+			classFile.addComment(fd, "Cache field '" + fd.name() + "'");
+			classFile.addInstruction(new Instruction(RuntimeConstants.opc_aload_0));
+			classFile.addInstruction(new FieldRefInstruction(RuntimeConstants.opc_getfield, currentClass.name(),
+					fd.name(), fd.type().signature()));
+			if (address < 4)
+				classFile.addInstruction(new Instruction(Generator.getStoreInstruction(fd.type(), address, false)));
+			else
+				classFile.addInstruction(new SimpleInstruction(Generator.getStoreInstruction(fd.type(), address, false), address));
+			cachedFields.put(fd, address);
+			if (usage.isWritten(fd))
+				dirtyFields.add(fd);
+			fields.add(fd);
+		}
+		return fields;
+	}
+
+	// uncacheLoopFields: writes the cached fields of a loop back to 'this' and stops caching them.
+	private void uncacheLoopFields(Vector<FieldDecl> fields) {
+		for (FieldDecl fd : fields) {
+			if (dirtyFields.contains(fd))
+				writeBackField(fd);
+			cachedFields.remove(fd);
+			dirtyFields.remove(fd);
+		}
+	}
+
+	// flushCachedFields: writes all assigned cached fields back (before a call or a return).
+	private void flushCachedFields() {
+		for (FieldDecl fd : dirtyFields)
+			writeBackField(fd);
+	}
+
+	// reloadCachedFields: reloads all cached fields after a call that might have changed them.
+	private void reloadCachedFields() {
+		for (FieldDecl fd : cachedFields.keySet()) {
+			int address = cachedFields.get(fd);
+			classFile.addInstruction(new Instruction(RuntimeConstants.opc_aload_0));
+			classFile.addInstruction(new FieldRefInstruction(RuntimeConstants.opc_getfield, currentClass.name(),
+					fd.name(), fd.type().signature()));
+			if (address < 4)
+				classFile.addInstruction(new Instruction(Generator.getStoreInstruction(fd.type(), address, false)));
+			else
+				classFile.addInstruction(new SimpleInstruction(Generator.getStoreInstruction(fd.type(), address, false), address));
+		}
+	}
+
+	// LOOP-INVARIANT CODE MOTION (only when optimizeLoops is set)
+
+	// hoistInvariants: computes the invariant expressions of a loop (see LoopInvariants) into new
+	//                  locals before the loop. Returns them so unhoistInvariants can forget them again.
+	private Vector<Expression> hoistInvariants(Expression condition, AST... parts) {
+		Vector<Expression> exprs = new Vector<Expression>();
+		if (!optimizeLoops)
+			return exprs;
+
+		ClassBodyDecl method = classFile.getCurrentMethod().getMethod();
+		for (Expression e : new LoopInvariants(debug, condition, parts).invariants()) {
+			if (hoisted.containsKey(e))
+				continue;
+			int address = method.localsUsed;
+			method.localsUsed += e.type.width();
+			if (debug) println(e.line + ": Hoisting loop invariant expression into local " + address + ".");
+			classFile.addComment(e, "Hoisted loop invariant");
+			e.visit(this);
+			if (address < 4)
+				classFile.addInstruction(new Instruction(Generator.getStoreInstruction(e.type, address, false)));
+			else
+				classFile.addInstruction(new SimpleInstruction(Generator.getStoreInstruction(e.type, address, false), address));
+			hoisted.put(e, address);
+			exprs.add(e);
+		}
+		return exprs;
+	}
+
+	private void unhoistInvariants(Vector<Expression> exprs) {
+		for (Expression e : exprs)
+			hoisted.remove(e);
+	}
+
+	// loadHoisted: if 'e' was computed before the loop, load it and return true.
+	private boolean loadHoisted(Expression e) {
+		Integer address = hoisted.get(e);
+		if (address == null)
+			return false;
+		classFile.addComment(e, "Hoisted loop invariant");
+		if (address < 4)
+			classFile.addInstruction(new Instruction(Generator.getLoadInstruction(e.type, address, false)));
+		else
+			classFile.addInstruction(new SimpleInstruction(Generator.getLoadInstruction(e.type, address, false), address));
+		return true;
+	}
+
+	private void writeBackField(FieldDecl fd) {
+		int address = cachedFields.get(fd);
+		classFile.addInstruction(new Instruction(RuntimeConstants.opc_aload_0));
+		if (address < 4)
+			classFile.addInstruction(new Instruction(Generator.getLoadInstruction(fd.type(), address, false)));
+		else
+			classFile.addInstruction(new SimpleInstruction(Generator.getLoadInstruction(fd.type(), address, false), address));
+		classFile.addInstruction(new FieldRefInstruction(RuntimeConstants.opc_putfield, currentClass.name(),
+				fd.name(), fd.type().signature()));
+	}
+
 	// ARRAY VISITORS START HERE
 
 	/** ArrayAccessExpr */
 	public Object visitArrayAccessExpr(ArrayAccessExpr ae) {
-		println(ae.line + ": Visiting ArrayAccessExpr");
+		if (debug) println(ae.line + ": Visiting ArrayAccessExpr");
 		classFile.addComment(ae, "ArrayAccessExpr");
 		// YOUR CODE HERE
 		classFile.addComment(ae,"End ArrayAccessExpr");
@@ -43,14 +192,14 @@ class GenerateCode extends Visitor {
 
 	/** ArrayLiteral */
 	public Object visitArrayLiteral(ArrayLiteral al) {
-		println(al.line + ": Visiting an ArrayLiteral ");
+		if (debug) println(al.line + ": Visiting an ArrayLiteral ");
 		// YOUR CODE HERE
 		return null;
 	}
 
 	/** NewArray */
 	public Object visitNewArray(NewArray ne) {
-		println(ne.line + ": NewArray:\t Creating new array of type " + ne.type.typeName());
+		if (debug) println(ne.line + ": NewArray:\t Creating new array of type " + ne.type.typeName());
 		// YOUR CODE HERE
 		return null;
 	}
@@ -59,16 +208,20 @@ class GenerateCode extends Visitor {
 
 	// ASSIGNMENT
 	public Object visitAssignment(Assignment as) {
-		println(as.line + ": Assignment:\tGenerating code for an Assignment.");
+		if (debug) println(as.line + ": Assignment:\tGenerating code for an Assignment.");
 		classFile.addComment(as, "Assignment");
+		boolean valueNeeded = resultNeeded;
+		resultNeeded = true;
+		// a field of 'this' cached in a local is treated like a local.
+		boolean cachedLHS = isCachedField(as.left());
 		/* If a reference is needed then compute it
 	          (If array type then generate reference to the	target & index)
 	          - a reference is never needed if as.left() is an instance of a NameExpr
 	          - a reference can be computed for a FieldRef by visiting the target
 	          - a reference can be computed for an ArrayAccessExpr by visiting its target 
 		 */
-		if (as.left() instanceof FieldRef) {
-			println(as.line + ": Generating reference for FieldRef target ");
+		if (as.left() instanceof FieldRef && !cachedLHS) {
+			if (debug) println(as.line + ": Generating reference for FieldRef target ");
 			FieldRef fr= (FieldRef)as.left();
 			fr.target().visit(this);		
 			// if the target is a New and the field is static, then the reference isn't needed, so pop it! 
@@ -79,7 +232,7 @@ class GenerateCode extends Visitor {
 			    else
 				classFile.addInstruction(new Instruction(RuntimeConstants.opc_pop));			
 		} else if (as.left() instanceof ArrayAccessExpr) {
-			println(as.line + ": Generating reference for Array Access target");
+			if (debug) println(as.line + ": Generating reference for Array Access target");
 			ArrayAccessExpr ae = (ArrayAccessExpr)as.left();
 			classFile.addComment(as, "ArrayAccessExpr target");
 			ae.target().visit(this);
@@ -94,8 +247,8 @@ class GenerateCode extends Visitor {
 				-- If the left hand side is a local (non array): generate code for it: Xload Y 
 		 */	        
 		if (as.op().kind != AssignmentOp.EQ) {
-			if (as.left() instanceof FieldRef) {
-				println(as.line + ": Duplicating reference and getting value for LHS (FieldRef/<op>=)");
+			if (as.left() instanceof FieldRef && !cachedLHS) {
+				if (debug) println(as.line + ": Duplicating reference and getting value for LHS (FieldRef/<op>=)");
 				FieldRef fr = (FieldRef)as.left();
 				if (!fr.myDecl.isStatic()) {
 					classFile.addInstruction(new Instruction(RuntimeConstants.opc_dup));
@@ -105,27 +258,23 @@ class GenerateCode extends Visitor {
 					classFile.addInstruction(new FieldRefInstruction(RuntimeConstants.opc_getstatic, fr.targetType.typeName(),
 							fr.fieldName().getname(), fr.type.signature()));
 			} else if (as.left() instanceof ArrayAccessExpr) {
-				println(as.line + ": Duplicating reference and getting value for LHS (ArrayAccessRef/<op>=)");
+				if (debug) println(as.line + ": Duplicating reference and getting value for LHS (ArrayAccessRef/<op>=)");
 				ArrayAccessExpr ae = (ArrayAccessExpr)as.left();
 				classFile.addInstruction(new Instruction(RuntimeConstants.opc_dup2));
 				classFile.addInstruction(new Instruction(Generator.getArrayLoadInstruction(ae.type)));
-			} else { // NameExpr
-				println(as.line + ": Getting value for LHS (NameExpr/<op>=)");
-				NameExpr ne = (NameExpr)as.left();
-				int address = ((VarDecl)ne.myDecl).address();
+			} else { // NameExpr (or cached field)
+				if (debug) println(as.line + ": Getting value for LHS (NameExpr/<op>=)");
+				int address = localAddress(as.left());
 
 				if (address < 4)
-					classFile.addInstruction(new Instruction(Generator.getLoadInstruction(((VarDecl)ne.myDecl).type(), address, true)));
+					classFile.addInstruction(new Instruction(Generator.getLoadInstruction(as.left().type, address, false)));
 				else
-					classFile.addInstruction(new SimpleInstruction(Generator.getLoadInstruction(((VarDecl)ne.myDecl).type(), address, true), address));
+					classFile.addInstruction(new SimpleInstruction(Generator.getLoadInstruction(as.left().type, address, false), address));
 			}
 		}
 
 		/* Visit the right hand side (RHS) */
-		boolean oldRHSofAssignment = RHSofAssignment;
-		RHSofAssignment = true;
 		as.right().visit(this);
-		RHSofAssignment = oldRHSofAssignment;
 		/* Convert the right hand sides type to that of the entire assignment */
 
 		if (as.op().kind != AssignmentOp.LSHIFTEQ &&
@@ -139,15 +288,15 @@ class GenerateCode extends Visitor {
 		if (as.op().kind != AssignmentOp.EQ)
 			classFile.addInstruction(new Instruction(Generator.getBinaryAssignmentOpInstruction(as.op(), as.type)));
 
-		/* If we are the right hand side of an assignment
+		/* If the value of the assignment is used
 		     -- If the left hand side is a non-static field (non array): dup_x1/dup2_x1
 			 -- If the left hand side is a static field (non array): dup/dup2
 			 -- If the left hand side is an array reference: dup_x2/dup2_x2 
 			 -- If the left hand side is a local (non array): dup/dup2 
 		 */    
-		if (RHSofAssignment) {
+		if (valueNeeded) {
 			String dupInstString = "";
-			if (as.left() instanceof FieldRef) {
+			if (as.left() instanceof FieldRef && !cachedLHS) {
 				FieldRef fr = (FieldRef)as.left();
 				if (!fr.myDecl.isStatic())  
 					dupInstString = "dup" + (fr.type.width() == 2 ? "2" : "") + "_x1";
@@ -156,9 +305,8 @@ class GenerateCode extends Visitor {
 			} else if (as.left() instanceof ArrayAccessExpr) {
 				ArrayAccessExpr ae = (ArrayAccessExpr)as.left();
 				dupInstString = "dup" + (ae.type.width() == 2 ? "2" : "") + "_x2";
-			} else { // NameExpr
-				NameExpr ne = (NameExpr)as.left();
-				dupInstString = "dup" + (ne.type.width() == 2 ? "2" : "");
+			} else { // NameExpr (or cached field)
+				dupInstString = "dup" + (as.left().type.width() == 2 ? "2" : "");
 			}
 			classFile.addInstruction(new Instruction(Generator.getOpCodeFromString(dupInstString)));
 		}
@@ -168,7 +316,7 @@ class GenerateCode extends Visitor {
 			 -- if LHS is an array reference: Xastore 
 			 -- if LHS is a local: Xstore Y
 		 */
-		if (as.left() instanceof FieldRef) {
+		if (as.left() instanceof FieldRef && !cachedLHS) {
 			FieldRef fr = (FieldRef)as.left();
 			if (!fr.myDecl.isStatic()) 
 				classFile.addInstruction(new FieldRefInstruction(RuntimeConstants.opc_putfield,
@@ -179,15 +327,14 @@ class GenerateCode extends Visitor {
 		} else if (as.left() instanceof ArrayAccessExpr) {
 			ArrayAccessExpr ae = (ArrayAccessExpr)as.left();
 			classFile.addInstruction(new Instruction(Generator.getArrayStoreInstruction(ae.type)));
-		} else { // NameExpr				
-			NameExpr ne = (NameExpr)as.left();
-			int address = ((VarDecl)ne.myDecl).address() ;
+		} else { // NameExpr (or cached field)
+			int address = localAddress(as.left());
 
 			// CHECK!!! TODO: changed 'true' to 'false' in these getStoreInstruction calls below....
 			if (address < 4)
-				classFile.addInstruction(new Instruction(Generator.getStoreInstruction(((VarDecl)ne.myDecl).type(), address, false)));
+				classFile.addInstruction(new Instruction(Generator.getStoreInstruction(as.left().type, address, false)));
 			else {
-				classFile.addInstruction(new SimpleInstruction(Generator.getStoreInstruction(((VarDecl)ne.myDecl).type(), address, false), address));
+				classFile.addInstruction(new SimpleInstruction(Generator.getStoreInstruction(as.left().type, address, false), address));
 			}
 		}
 		classFile.addComment(as, "End Assignment");
@@ -196,7 +343,9 @@ class GenerateCode extends Visitor {
 
 	// BINARY EXPRESSION
     public Object visitBinaryExpr(BinaryExpr be) {
-		println(be.line + ": BinaryExpr:\tGenerating code for " + be.op().operator() + " :  " + be.left().type.typeName() + " -> " + be.right().type.typeName() + " -> " + be.type.typeName() + ".");
+		if (loadHoisted(be))
+			return null;
+		if (debug) println(be.line + ": BinaryExpr:\tGenerating code for " + be.op().operator() + " :  " + be.left().type.typeName() + " -> " + be.right().type.typeName() + " -> " + be.type.typeName() + ".");
 		classFile.addComment(be, "Binary Expression");
 			
 		// YOUR CODE HERE
@@ -352,7 +501,7 @@ class GenerateCode extends Visitor {
 
     // BREAK STATEMENT
     public Object visitBreakStat(BreakStat br) {
-	println(br.line + ": BreakStat:\tGenerating code.");
+	if (debug) println(br.line + ": BreakStat:\tGenerating code.");
 	classFile.addComment(br, "Break Statement");
 
 	// YOUR CODE HERE
@@ -364,7 +513,9 @@ class GenerateCode extends Visitor {
 
     // CAST EXPRESSION
 		public Object visitCastExpr(CastExpr ce) {
-		println(ce.line + ": CastExpr:\tGenerating code for a Cast Expression.");
+		if (loadHoisted(ce))
+			return null;
+		if (debug) println(ce.line + ": CastExpr:\tGenerating code for a Cast Expression.");
 		classFile.addComment(ce, "Cast Expression");
 		String instString;
 
@@ -375,7 +526,7 @@ class GenerateCode extends Visitor {
 		if (ce.type().isByteType() || ce.type().isCharType() || ce.type().isShortType()) {
 
 			if (!ce.expr().type.isIntegerType()) {
-				gen.dataConvert(ce.expr().type, new PrimitiveType(PrimitiveType.IntKind));
+				gen.dataConvert(ce.expr().type, PrimitiveType.get(PrimitiveType.IntKind));
 			}
 
 			if (ce.type().isByteType()) {
@@ -396,7 +547,7 @@ class GenerateCode extends Visitor {
     
 	// CONSTRUCTOR INVOCATION (EXPLICIT)
 	public Object visitCInvocation(CInvocation ci) {
-		println(ci.line + ": CInvocation:\tGenerating code for Explicit Constructor Invocation.");     
+		if (debug) println(ci.line + ": CInvocation:\tGenerating code for Explicit Constructor Invocation.");     
 		classFile.addComment(ci, "Explicit Constructor Invocation");
 
 		// YOUR CODE HERE
@@ -408,7 +559,7 @@ class GenerateCode extends Visitor {
 		classFile.addInstruction(new MethodInvocationInstruction(
 			RuntimeConstants.opc_invokespecial, 
 			ci.targetClass.name(), 
-			"<init>(" + ci.constructor.paramSignature() + ")V", 
+			"<init>" + ci.constructor.descriptor(), 
 			""));
 
 		classFile.addComment(ci, "End CInvocation");
@@ -417,7 +568,7 @@ class GenerateCode extends Visitor {
 
 	// CLASS DECLARATION
 	public Object visitClassDecl(ClassDecl cd) {
-		println(cd.line + ": ClassDecl:\tGenerating code for class '" + cd.name() + "'.");
+		if (debug) println(cd.line + ": ClassDecl:\tGenerating code for class '" + cd.name() + "'.");
 
 		// We need to set this here so we can retrieve it when we generate
 		// field initializers for an existing constructor.
@@ -448,7 +599,7 @@ class GenerateCode extends Visitor {
 
 		// 2) create a <clinit> if one is needed but not present
 		if (staticInit) {
-			println(cd.line + ": Inserting empty StaticInit into partse tree.");
+			if (debug) println(cd.line + ": Inserting empty StaticInit into partse tree.");
 			cd.body().append(new StaticInitDecl(new Block(new Sequence())));
 		}
 
@@ -464,7 +615,7 @@ class GenerateCode extends Visitor {
 
 	// CONSTRUCTOR DECLARATION
 	public Object visitConstructorDecl(ConstructorDecl cd) {
-		println(cd.line + ": ConstructorDecl: Generating Code for constructor for class " + cd.name().getname());
+		if (debug) println(cd.line + ": ConstructorDecl: Generating Code for constructor for class " + cd.name().getname());
 
 		classFile.startMethod(cd);
 		classFile.addComment(cd, "Constructor Declaration");
@@ -496,7 +647,7 @@ class GenerateCode extends Visitor {
 
 	// CONTINUE STATEMENT
 	public Object visitContinueStat(ContinueStat cs) {
-		println(cs.line + ": ContinueStat:\tGenerating code.");
+		if (debug) println(cs.line + ": ContinueStat:\tGenerating code.");
 		classFile.addComment(cs, "Continue Statement");
 
 		// YOUR CODE HERE
@@ -508,7 +659,7 @@ class GenerateCode extends Visitor {
 
 	// DO STATEMENT
 	public Object visitDoStat(DoStat ds) {
-		println(ds.line + ": DoStat:\tGenerating code.");
+		if (debug) println(ds.line + ": DoStat:\tGenerating code.");
 		classFile.addComment(ds, "Do Statement");
 
 		// YOUR CODE HERE
@@ -516,6 +667,13 @@ class GenerateCode extends Visitor {
 		String label2 = "L" + gen.getLabel();
 		String label3 = "L" + gen.getLabel();
 
+		String oldContinueLabel = Generator.getContinueLabel();
+		String oldBreakLabel = Generator.getBreakLabel();
+		gen.setContinueLabel(label3);
+		gen.setBreakLabel(label2);
+
+		Vector<FieldDecl> cached = cacheLoopFields(ds.stat(), ds.expr());
+		Vector<Expression> invariants = hoistInvariants(null, ds.stat(), ds.expr());
 		classFile.addInstruction(new LabelInstruction(RuntimeConstants.opc_label, label1));
 
 		ds.stat().visit(this);
@@ -528,7 +686,11 @@ class GenerateCode extends Visitor {
 		classFile.addInstruction(new JumpInstruction(RuntimeConstants.opc_goto, label1));
 
 		classFile.addInstruction(new LabelInstruction(RuntimeConstants.opc_label, label2));
-		
+		uncacheLoopFields(cached);
+		unhoistInvariants(invariants);
+
+		gen.setContinueLabel(oldContinueLabel);
+		gen.setBreakLabel(oldBreakLabel);
 
 		classFile.addComment(ds, "End DoStat");
 		return null; 
@@ -537,32 +699,39 @@ class GenerateCode extends Visitor {
 
 	// EXPRESSION STATEMENT
 	public Object visitExprStat(ExprStat es) {	
-		println(es.line + ": ExprStat:\tVisiting an Expression Statement.");
+		if (debug) println(es.line + ": ExprStat:\tVisiting an Expression Statement.");
 		classFile.addComment(es, "Expression Statement");
 
+		// Assignments and ++/-- do not leave their value on the stack when it is not used.
+		boolean discarded = es.expression() instanceof Assignment || es.expression() instanceof UnaryPostExpr ||
+			(es.expression() instanceof UnaryPreExpr &&
+			 (((UnaryPreExpr)es.expression()).op().getKind() == PreOp.PLUSPLUS ||
+			  ((UnaryPreExpr)es.expression()).op().getKind() == PreOp.MINUSMINUS));
+		resultNeeded = !discarded;
 		es.expression().visit(this);
+		resultNeeded = true;
 		if (es.expression() instanceof Invocation) {
 			Invocation in = (Invocation)es.expression();
 			//System.out.println(in.target() == null);
 
 
 			if (in.targetType.isStringType() && in.methodName().getname().equals("length")) {
-			    println(es.line + ": ExprStat:\tInvocation of method length, return value not uses.");
+			    if (debug) println(es.line + ": ExprStat:\tInvocation of method length, return value not uses.");
 			    gen.dup(es.expression().type, RuntimeConstants.opc_pop, RuntimeConstants.opc_pop2);
 			} else if (in.targetType.isStringType() && in.methodName().getname().equals("charAt")) {
-			    println(es.line + ": ExprStat:\tInvocation of method charAt, return value not uses.");
+			    if (debug) println(es.line + ": ExprStat:\tInvocation of method charAt, return value not uses.");
 			    gen.dup(es.expression().type, RuntimeConstants.opc_pop, RuntimeConstants.opc_pop2);
-			} else if (in.targetMethod.returnType().isVoidType())
-				println(es.line + ": ExprStat:\tInvocation of Void method where return value is not used anyways (no POP needed)."); 
-			else {
-				println(es.line + ": ExprStat:\tPOP added to remove non used return value for a '" + es.expression().getClass().getName() + "'.");
+			} else if (in.targetMethod.returnType().isVoidType()) {
+				if (debug) println(es.line + ": ExprStat:\tInvocation of Void method where return value is not used anyways (no POP needed)."); 
+			} else {
+				if (debug) println(es.line + ": ExprStat:\tPOP added to remove non used return value for a '" + es.expression().getClass().getName() + "'.");
 				gen.dup(es.expression().type, RuntimeConstants.opc_pop, RuntimeConstants.opc_pop2);
 			}
 		}
 		else 
-			if (!(es.expression() instanceof Assignment)) {
+			if (!discarded) {
 				gen.dup(es.expression().type, RuntimeConstants.opc_pop, RuntimeConstants.opc_pop2);
-				println(es.line + ": ExprStat:\tPOP added to remove unused value left on stack for a '" + es.expression().getClass().getName() + "'.");
+				if (debug) println(es.line + ": ExprStat:\tPOP added to remove unused value left on stack for a '" + es.expression().getClass().getName() + "'.");
 			}
 		classFile.addComment(es, "End ExprStat");
 		return null;
@@ -570,7 +739,7 @@ class GenerateCode extends Visitor {
 
 	// FIELD DECLARATION
 	public Object visitFieldDecl(FieldDecl fd) {
-		println(fd.line + ": FieldDecl:\tGenerating code.");
+		if (debug) println(fd.line + ": FieldDecl:\tGenerating code.");
 
 		classFile.addField(fd);
 
@@ -579,7 +748,9 @@ class GenerateCode extends Visitor {
 
 	// FIELD REFERENCE
 	public Object visitFieldRef(FieldRef fr) {
-		println(fr.line + ": FieldRef:\tGenerating code (getfield code only!).");
+		if (loadHoisted(fr))
+			return null;
+		if (debug) println(fr.line + ": FieldRef:\tGenerating code (getfield code only!).");
 
 		// Changed June 22 2012 Array
 		// If we have and field reference with the name 'length' and an array target type
@@ -590,6 +761,17 @@ class GenerateCode extends Visitor {
 			return null;
 		}
 
+		if (isCachedField(fr)) {
+			classFile.addComment(fr, "Field Reference (cached)");
+			int address = localAddress(fr);
+			if (address < 4)
+				classFile.addInstruction(new Instruction(Generator.getLoadInstruction(fr.type, address, false)));
+			else
+				classFile.addInstruction(new SimpleInstruction(Generator.getLoadInstruction(fr.type, address, false), address));
+			classFile.addComment(fr, "End FieldRef");
+			return null;
+		}
+
 		classFile.addComment(fr,  "Field Reference");
 
 		// Note when visiting this node we assume that the field reference
@@ -615,7 +797,7 @@ class GenerateCode extends Visitor {
 
 	// FOR STATEMENT
 	public Object visitForStat(ForStat fs) {
-		println(fs.line + ": ForStat:\tGenerating code.");
+		if (debug) println(fs.line + ": ForStat:\tGenerating code.");
 		classFile.addComment(fs, "For Statement");
 		// YOUR CODE HERE
 
@@ -629,6 +811,8 @@ class GenerateCode extends Visitor {
 		gen.setBreakLabel(label2);
 
 		if (fs.init() != null) {fs.init().visit(this);}
+		Vector<FieldDecl> cached = cacheLoopFields(fs.expr(), fs.stats(), fs.incr());
+		Vector<Expression> invariants = hoistInvariants(fs.expr(), fs.stats(), fs.incr());
 		classFile.addInstruction(new LabelInstruction(RuntimeConstants.opc_label, label1));
 		if (fs.expr() != null) {
 			fs.expr().visit(this);
@@ -641,6 +825,8 @@ class GenerateCode extends Visitor {
 
 		classFile.addInstruction(new JumpInstruction(RuntimeConstants.opc_goto, label1));
 		classFile.addInstruction(new LabelInstruction(RuntimeConstants.opc_label, label2));
+		uncacheLoopFields(cached);
+		unhoistInvariants(invariants);
 
 		gen.setContinueLabel(oldContinueLabel);
 		gen.setBreakLabel(oldBreakLabel);
@@ -651,7 +837,7 @@ class GenerateCode extends Visitor {
 
 	// IF STATEMENT
 	public Object visitIfStat(IfStat is) {
-		println(is.line + ": IfStat:\tGenerating code.");
+		if (debug) println(is.line + ": IfStat:\tGenerating code.");
 		classFile.addComment(is, "If Statement");
 
 		// YOUR CODE HERE
@@ -692,12 +878,12 @@ class GenerateCode extends Visitor {
 
 	// INVOCATION
 	public Object visitInvocation(Invocation in) {
-	    println(in.line + ": Invocation:\tGenerating code for invoking method '" + in.methodName().getname() + "' in class '" + in.targetType.typeName() + "'.");
+	    if (debug) println(in.line + ": Invocation:\tGenerating code for invoking method '" + in.methodName().getname() + "' in class '" + in.targetType.typeName() + "'.");
 		classFile.addComment(in, "Invocation");
 
 		// YOUR CODE HERE
 
-		println(in.line + ": Invocation:\tGenerating code for the target.");
+		if (debug) println(in.line + ": Invocation:\tGenerating code for the target.");
 		if (in.target() != null) {
 			in.target().visit(this);
 		} else if (in.targetType.isClassType() && ((ClassType)in.targetType).myDecl == currentClass && !in.targetMethod.getModifiers().isStatic()) {
@@ -707,13 +893,16 @@ class GenerateCode extends Visitor {
 
 		// Pop if static and target is not class name or null
 		if (in.target() != null && in.targetMethod.getModifiers().isStatic() && !(in.target() instanceof NameExpr && ((NameExpr)in.target()).myDecl instanceof ClassDecl)) {
-			println(in.line + ": Invocation:\tIssuing a POP instruction to remove target reference; not needed for static invocation.");
+			if (debug) println(in.line + ": Invocation:\tIssuing a POP instruction to remove target reference; not needed for static invocation.");
 			classFile.addInstruction(new Instruction(RuntimeConstants.opc_pop));			
 		}
 
 		in.params().visit(this);
 		// For each parameter, convert type of in.params[i] to type of in.targetMethod.params[i].type
 
+		// The method might use or change the fields we keep in locals.
+		flushCachedFields();
+
 
 		
 
@@ -733,7 +922,7 @@ class GenerateCode extends Visitor {
 				RuntimeConstants.opc_invokeinterface, 
 				in.targetMethod.getMyClass().name(),
 				in.methodName().getname(),
-				"(" + in.targetMethod.paramSignature() + ")" + in.targetMethod.returnType().signature(),
+				in.targetMethod.descriptor(),
 				in.params().nchildren
 			));
 		} else if (in.targetMethod.getModifiers().isPrivate() || in.target() instanceof Super) {
@@ -741,23 +930,24 @@ class GenerateCode extends Visitor {
 				RuntimeConstants.opc_invokespecial,
 				in.targetMethod.getMyClass().name(),
 				in.methodName().getname(),
-				"(" + in.targetMethod.paramSignature() + ")"  + in.targetMethod.returnType().signature()
+				in.targetMethod.descriptor()
 			));
 		} else if (in.targetMethod.getModifiers().isStatic()) {
 			classFile.addInstruction(new MethodInvocationInstruction(
 				RuntimeConstants.opc_invokestatic,
 				in.targetMethod.getMyClass().name(),
 				in.methodName().getname(),
-				"(" + in.targetMethod.paramSignature() + ")" + in.targetMethod.returnType().signature()
+				in.targetMethod.descriptor()
 			));	
 		} else if (in.targetType.isClassType()) {
 			classFile.addInstruction(new MethodInvocationInstruction(
 				RuntimeConstants.opc_invokevirtual,
 				in.targetMethod.getMyClass().name(),
 				in.methodName().getname(),
-				"(" + in.targetMethod.paramSignature() + ")" + in.targetMethod.returnType().signature()
+				in.targetMethod.descriptor()
 			));
 		}
+		reloadCachedFields();
 
 		classFile.addComment(in, "End Invocation");
 
@@ -766,7 +956,7 @@ class GenerateCode extends Visitor {
 
 	// LITERAL
 	public Object visitLiteral(Literal li) {
-		println(li.line + ": Literal:\tGenerating code for Literal '" + li.getText() + "'.");
+		if (debug) println(li.line + ": Literal:\tGenerating code for Literal '" + li.getText() + "'.");
 		classFile.addComment(li, "Literal");
 
 		switch (li.getKind()) {
@@ -805,7 +995,7 @@ class GenerateCode extends Visitor {
 	// LOCAL VARIABLE DECLARATION
 	public Object visitLocalDecl(LocalDecl ld) {
 		if (ld.var().init() != null) {
-			println(ld.line + ": LocalDecl:\tGenerating code for the initializer for variable '" + 
+			if (debug) println(ld.line + ": LocalDecl:\tGenerating code for the initializer for variable '" + 
 					ld.var().name().getname() + "'.");
 			classFile.addComment(ld, "Local Variable Declaration");
 
@@ -828,14 +1018,14 @@ class GenerateCode extends Visitor {
 			classFile.addComment(ld, "End LocalDecl");
 		}
 		else
-			println(ld.line + ": LocalDecl:\tVisiting local variable declaration for variable '" + ld.var().name().getname() + "'.");
+			if (debug) println(ld.line + ": LocalDecl:\tVisiting local variable declaration for variable '" + ld.var().name().getname() + "'.");
 
 		return null;
 	}
 
 	// METHOD DECLARATION
 	public Object visitMethodDecl(MethodDecl md) {
-		println(md.line + ": MethodDecl:\tGenerating code for method '" + md.name().getname() + "'.");	
+		if (debug) println(md.line + ": MethodDecl:\tGenerating code for method '" + md.name().getname() + "'.");	
 		classFile.startMethod(md);
 
 		classFile.addComment(md, "Method Declaration (" + md.name() + ")");
@@ -852,13 +1042,13 @@ class GenerateCode extends Visitor {
 
 		// ADDED 22 June 2012 
 		if (ne.myDecl instanceof ClassDecl) {
-			println(ne.line + ": NameExpr:\tWas a class name - skip it :" + ne.name().getname());
+			if (debug) println(ne.line + ": NameExpr:\tWas a class name - skip it :" + ne.name().getname());
 			classFile.addComment(ne, "End NameExpr");
 			return null;
 		}
 
 		// YOUR CODE HERE
-		println(ne.line + ": NameExpr:\tGenerating code for a local var/param (access) for '" + ne.name().getname() + "'.");
+		if (debug) println(ne.line + ": NameExpr:\tGenerating code for a local var/param (access) for '" + ne.name().getname() + "'.");
 
 		VarDecl vd = (VarDecl)ne.myDecl;
 
@@ -878,7 +1068,7 @@ class GenerateCode extends Visitor {
 
 	// NEW
 	public Object visitNew(New ne) {
-		println(ne.line + ": New:\tGenerating code");
+		if (debug) println(ne.line + ": New:\tGenerating code");
 		classFile.addComment(ne, "New");
 
 		// YOUR CODE HERE
@@ -887,11 +1077,13 @@ class GenerateCode extends Visitor {
 
 		ne.args().visit(this);
 
+		flushCachedFields();
 		classFile.addInstruction(new MethodInvocationInstruction(
 			RuntimeConstants.opc_invokespecial, 
 			ne.type().myDecl.name(), 
-			"<init>(" + ne.getConstructorDecl().paramSignature() + ")V", 
+			"<init>" + ne.getConstructorDecl().descriptor(), 
 			""));
+		reloadCachedFields();
 
 		classFile.addComment(ne, "End New");
 		return null;
@@ -899,13 +1091,14 @@ class GenerateCode extends Visitor {
 
 	// RETURN STATEMENT
 	public Object visitReturnStat(ReturnStat rs) {
-		println(rs.line + ": ReturnStat:\tGenerating code.");
+		if (debug) println(rs.line + ": ReturnStat:\tGenerating code.");
 		classFile.addComment(rs, "Return Statement");
 
 		// YOUR CODE HERE
 		if (rs.expr() != null) {
 			rs.expr().visit(this);
 		}
+		flushCachedFields();
 
 		// For some reason, rs.type is null when return type is void...
 		if (rs.getType() == null) {
@@ -920,7 +1113,7 @@ class GenerateCode extends Visitor {
 
 	// STATIC INITIALIZER
 	public Object visitStaticInitDecl(StaticInitDecl si) {
-		println(si.line + ": StaticInit:\tGenerating code for a Static initializer.");	
+		if (debug) println(si.line + ": StaticInit:\tGenerating code for a Static initializer.");	
 
 		classFile.startMethod(si);
 		classFile.addComment(si, "Static Initializer");
@@ -944,7 +1137,7 @@ class GenerateCode extends Visitor {
 
 	// SUPER
 	public Object visitSuper(Super su) {
-		println(su.line + ": Super:\tGenerating code (access).");	
+		if (debug) println(su.line + ": Super:\tGenerating code (access).");	
 		classFile.addComment(su, "Super");
 
 		// YOUR CODE HERE
@@ -956,7 +1149,7 @@ class GenerateCode extends Visitor {
 
 	// SWITCH STATEMENT
 	public Object visitSwitchStat(SwitchStat ss) {
-		println(ss.line + ": Switch Statement:\tGenerating code for Switch Statement.");
+		if (debug) println(ss.line + ": Switch Statement:\tGenerating code for Switch Statement.");
 		int def = -1;
 		SortedMap<Object, SwitchLabel> sm = new TreeMap<Object, SwitchLabel>();
 		classFile.addComment(ss,  "Switch Statement");
@@ -1017,7 +1210,7 @@ class GenerateCode extends Visitor {
 
 	// TERNARY EXPRESSION 
 	public Object visitTernary(Ternary te) {
-		println(te.line + ": Ternary:\tGenerating code.");
+		if (debug) println(te.line + ": Ternary:\tGenerating code.");
 		classFile.addComment(te, "Ternary Statement");
 
 		boolean OldStringBuilderCreated = StringBuilderCreated;
@@ -1048,7 +1241,7 @@ class GenerateCode extends Visitor {
 
 	// THIS
 	public Object visitThis(This th) {
-		println(th.line + ": This:\tGenerating code (access).");       
+		if (debug) println(th.line + ": This:\tGenerating code (access).");       
 		classFile.addComment(th, "This");
 
 		// YOUR CODE HERE
@@ -1058,21 +1251,31 @@ class GenerateCode extends Visitor {
 		return null;
 	}
 
+	// dupValue: copies the value on top of the stack with 'dup' ('dup2' for a long or double) if the
+	//           value of the expression is needed.
+	private void dupValue(boolean valueNeeded, Type type, int dup, int dup2) {
+		if (valueNeeded)
+			classFile.addInstruction(new Instruction(type.isLongType() || type.isDoubleType() ? dup2 : dup));
+	}
+
 	// UNARY POST EXPRESSION
 	public Object visitUnaryPostExpr(UnaryPostExpr up) {
-		println(up.line + ": UnaryPostExpr:\tGenerating code.");
+		if (debug) println(up.line + ": UnaryPostExpr:\tGenerating code.");
 		classFile.addComment(up, "Unary Post Expression");
+		boolean valueNeeded = resultNeeded;
+		resultNeeded = true;
 
 		// YOUR CODE HERE
 
 		String suffix = up.op().getKind() == PostOp.PLUSPLUS ? "add" : "sub";
 		Type type = up.expr().type;
 
-		if (up.expr() instanceof NameExpr) {
-			// LOCAL or PARAMETER
-			up.expr().visit(this);
+		if (up.expr() instanceof NameExpr || isCachedField(up.expr())) {
+			// LOCAL or PARAMETER (or cached field)
+			if (valueNeeded || !type.isIntegerType())
+				up.expr().visit(this);
 
-			int address = ((VarDecl)((NameExpr)up.expr()).myDecl).address();
+			int address = localAddress(up.expr());
 
 			if (type.isIntegerType()) {
 				int inc = up.op().getKind() == PostOp.PLUSPLUS ? 1 : -1;
@@ -1080,11 +1283,7 @@ class GenerateCode extends Visitor {
 			} else {
 
 				// dup | dup2
-				if (type.isLongType() || type.isDoubleType()) {
-					classFile.addInstruction(new Instruction(RuntimeConstants.opc_dup2));
-				} else {
-					classFile.addInstruction(new Instruction(RuntimeConstants.opc_dup));
-				}
+				dupValue(valueNeeded, type, RuntimeConstants.opc_dup, RuntimeConstants.opc_dup2);
 
 				// Xconst_1
 				classFile.addInstruction(new Instruction(Generator.getOpCodeFromString(type.getTypePrefix() + "const_1")));
@@ -1126,11 +1325,7 @@ class GenerateCode extends Visitor {
 				));
 
 				// dup | dup2
-				if (type.isLongType() || type.isDoubleType()) {
-					classFile.addInstruction(new Instruction(RuntimeConstants.opc_dup2));
-				} else {
-					classFile.addInstruction(new Instruction(RuntimeConstants.opc_dup));
-				}
+				dupValue(valueNeeded, type, RuntimeConstants.opc_dup, RuntimeConstants.opc_dup2);
 
 			} else {
 
@@ -1146,11 +1341,7 @@ class GenerateCode extends Visitor {
 				));
 
 				// dup_x1 | dup2_x1
-				if (type.isLongType() || type.isDoubleType()) {
-					classFile.addInstruction(new Instruction(RuntimeConstants.opc_dup2_x1));
-				} else {
-					classFile.addInstruction(new Instruction(RuntimeConstants.opc_dup_x1));
-				}
+				dupValue(valueNeeded, type, RuntimeConstants.opc_dup_x1, RuntimeConstants.opc_dup2_x1);
 			}
 
 			// Xconst_1
@@ -1189,15 +1380,19 @@ class GenerateCode extends Visitor {
 
 	// UNARY PRE EXPRESSION
 	public Object visitUnaryPreExpr(UnaryPreExpr up) {
-		println(up.line + ": UnaryPreExpr:\tGenerating code for " + up.op().operator() + " : " + up.expr().type.typeName() + " -> " + up.expr().type.typeName() + ".");
+		if (loadHoisted(up))
+			return null;
+		if (debug) println(up.line + ": UnaryPreExpr:\tGenerating code for " + up.op().operator() + " : " + up.expr().type.typeName() + " -> " + up.expr().type.typeName() + ".");
 		classFile.addComment(up,"Unary Pre Expression");
+		boolean valueNeeded = resultNeeded;
+		resultNeeded = true;
 
 		// YOUR CODE HERE
 		Type type = up.expr().type;
 
-		if (up.expr() instanceof NameExpr) {
-			// LOCAL or PARAMETER
-			int address = ((VarDecl)((NameExpr)up.expr()).myDecl).address();
+		if (up.expr() instanceof NameExpr || isCachedField(up.expr())) {
+			// LOCAL or PARAMETER (or cached field)
+			int address = localAddress(up.expr());
 
 			switch(up.op().getKind()) {
 
@@ -1265,7 +1460,8 @@ class GenerateCode extends Visitor {
 						classFile.addInstruction(new IincInstruction(RuntimeConstants.opc_iinc, address, inc));
 
 						// Xload_Y | Xload Y
-						up.expr().visit(this);
+						if (valueNeeded)
+							up.expr().visit(this);
 
 					} else {
 						
@@ -1280,11 +1476,7 @@ class GenerateCode extends Visitor {
 						classFile.addInstruction(new Instruction(Generator.getOpCodeFromString(type.getTypePrefix() + suffix)));
 
 						// dup | dup2
-						if (type.isLongType() || type.isDoubleType()) {
-							classFile.addInstruction(new Instruction(RuntimeConstants.opc_dup2));
-						} else {
-							classFile.addInstruction(new Instruction(RuntimeConstants.opc_dup));
-						}
+						dupValue(valueNeeded, type, RuntimeConstants.opc_dup, RuntimeConstants.opc_dup2);
 
 						// Xstore_Y | Xstore Y
 						int instruction = gen.getStoreInstruction(type, address, false);
@@ -1393,11 +1585,7 @@ class GenerateCode extends Visitor {
 					if (fr.myDecl.modifiers.isStatic()) {
 
 						// dup | dup2
-						if (type.isLongType() || type.isDoubleType()) {
-							classFile.addInstruction(new Instruction(RuntimeConstants.opc_dup2));
-						} else {
-							classFile.addInstruction(new Instruction(RuntimeConstants.opc_dup));
-						}
+						dupValue(valueNeeded, type, RuntimeConstants.opc_dup, RuntimeConstants.opc_dup2);
 
 						// putstatic
 						classFile.addInstruction(new FieldRefInstruction(
@@ -1410,11 +1598,7 @@ class GenerateCode extends Visitor {
 					} else {
 
 						// dup_x1 | dup2_x1
-						if (type.isLongType() || type.isDoubleType()) {
-							classFile.addInstruction(new Instruction(RuntimeConstants.opc_dup2_x1));
-						} else {
-							classFile.addInstruction(new Instruction(RuntimeConstants.opc_dup_x1));
-						}
+						dupValue(valueNeeded, type, RuntimeConstants.opc_dup_x1, RuntimeConstants.opc_dup2_x1);
 
 						// putfield
 						classFile.addInstruction(new FieldRefInstruction(
@@ -1477,7 +1661,7 @@ class GenerateCode extends Visitor {
 
 	// WHILE STATEMENT
 	public Object visitWhileStat(WhileStat ws) {
-		println(ws.line + ": While Stat:\tGenerating Code.");
+		if (debug) println(ws.line + ": While Stat:\tGenerating Code.");
 
 		classFile.addComment(ws, "While Statement");
 
@@ -1490,6 +1674,8 @@ class GenerateCode extends Visitor {
 		gen.setContinueLabel(topLabel);
 		gen.setBreakLabel(endLabel);
 
+		Vector<FieldDecl> cached = cacheLoopFields(ws.expr(), ws.stat());
+		Vector<Expression> invariants = hoistInvariants(ws.expr(), ws.stat());
 		classFile.addInstruction(new LabelInstruction(RuntimeConstants.opc_label, topLabel));
 		ws.expr().visit(this);
 		classFile.addInstruction(new JumpInstruction(RuntimeConstants.opc_ifeq, endLabel));
@@ -1500,6 +1686,8 @@ class GenerateCode extends Visitor {
 
 		classFile.addInstruction(new JumpInstruction(RuntimeConstants.opc_goto, topLabel));
 		classFile.addInstruction(new LabelInstruction(RuntimeConstants.opc_label, endLabel));
+		uncacheLoopFields(cached);
+		unhoistInvariants(invariants);
 
 		gen.setContinueLabel(oldContinueLabel);
 		gen.setBreakLabel(oldBreakLabel);
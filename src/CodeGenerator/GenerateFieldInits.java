@@ -37,7 +37,7 @@ class GenerateFieldInits extends Visitor {
 						fd.var().name().getname(), fd.type().signature()));
 			}
 			else if (!fd.modifiers.isStatic() && !generateForStaticFields) {
-				println(fd.line + ": FieldDecl:\tGenerating init code for non static field '" + fd.var().name().getname() + "'.");
+				if (debug) println(fd.line + ": FieldDecl:\tGenerating init code for non static field '" + fd.var().name().getname() + "'.");
 				//gen.println("\taload_0");
 				classFile.addInstruction(new Instruction(RuntimeConstants.opc_aload_0));
 				fd.var().init().visit(g);
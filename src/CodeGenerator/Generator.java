@@ -5,6 +5,7 @@ import java.util.Vector;
 import AST.*;
 import Jasmin.*;
 import Utilities.Error;
+import Utilities.Log;
 import Instruction.*;
 
 public class Generator {
@@ -41,14 +42,14 @@ public class Generator {
 		if (address > maxAddress) {
 		    maxAddress = address;
 		}
-		System.out.println("Max Address: " + maxAddress);
+		Log.debug("Max Address: " + maxAddress);
 	}
 	public void inc2Address() {
 		address += 2;
 		if (address > maxAddress) {
 		    maxAddress = address;
 		}
-		System.out.println("Max Address: " + maxAddress);
+		Log.debug("Max Address: " + maxAddress);
 	}
 	public void setAddress(int address) {
 		this.address = address;
@@ -73,7 +74,7 @@ public class Generator {
 	}
 
 	Generator(ClassDecl cd, boolean d) {
-		System.out.println("Generating code for: " + cd.name().toString());
+		Log.info("Generating code for: " + cd.name().toString());
 		debug = d;
 
 		classFile = new ClassFile(cd);
@@ -0,0 +1,91 @@
+package CodeGenerator;
+
+import java.util.*;
+
+import AST.*;
+import Utilities.Visitor;
+
+/** LoopFieldUsage collects how the (non-static) fields of 'this' are used
+ * in the condition, body and update of a loop. GenerateCode uses it to
+ * decide which fields to keep in a local variable while the loop runs.
+ *
+ * A field that is also accessed through another target than 'this' might
+ * be an alias of the cached copy and is never cached. Each call in the
+ * loop forces the cached fields to be written back and reloaded, so a
+ * field is only worth caching if it is accessed more often than that.
+ */
+class LoopFieldUsage extends Visitor {
+
+	private LinkedHashMap<FieldDecl,Integer> accesses = new LinkedHashMap<FieldDecl,Integer>();
+	private HashSet<FieldDecl> written = new HashSet<FieldDecl>();
+	private HashSet<FieldDecl> aliased = new HashSet<FieldDecl>();
+	private int calls = 0;
+
+	LoopFieldUsage(boolean debug) {
+		this.debug = debug;
+	}
+
+	// cacheable: returns the fields that should be cached in locals for the loop.
+	public Vector<FieldDecl> cacheable() {
+		Vector<FieldDecl> fields = new Vector<FieldDecl>();
+		for (FieldDecl fd : accesses.keySet()) {
+			int count = accesses.get(fd);
+			if (!aliased.contains(fd) && count > calls)
+				fields.add(fd);
+		}
+		return fields;
+	}
+
+	// isWritten: true if the field is assigned (or incremented/decremented) in the loop.
+	public boolean isWritten(FieldDecl fd) {
+		return written.contains(fd);
+	}
+
+	private void markWritten(Expression expr) {
+		if (expr instanceof FieldRef && ((FieldRef)expr).myDecl != null)
+			written.add(((FieldRef)expr).myDecl);
+	}
+
+	public Object visitFieldRef(FieldRef fr) {
+		// fr.myDecl is null for array.length
+		if (fr.myDecl != null && !fr.myDecl.isStatic()) {
+			if (fr.target() instanceof This) {
+				Integer count = accesses.get(fr.myDecl);
+				accesses.put(fr.myDecl, count == null ? 1 : count + 1);
+			} else
+				aliased.add(fr.myDecl);
+		}
+		return fr.visitChildren(this);
+	}
+
+	public Object visitAssignment(Assignment as) {
+		markWritten(as.left());
+		return as.visitChildren(this);
+	}
+
+	public Object visitUnaryPostExpr(UnaryPostExpr up) {
+		markWritten(up.expr());
+		return up.visitChildren(this);
+	}
+
+	public Object visitUnaryPreExpr(UnaryPreExpr up) {
+		if (up.op().getKind() == PreOp.PLUSPLUS || up.op().getKind() == PreOp.MINUSMINUS)
+			markWritten(up.expr());
+		return up.visitChildren(this);
+	}
+
+	public Object visitInvocation(Invocation in) {
+		calls++;
+		return in.visitChildren(this);
+	}
+
+	public Object visitNew(New ne) {
+		calls++;
+		return ne.visitChildren(this);
+	}
+
+	public Object visitCInvocation(CInvocation ci) {
+		calls++;
+		return ci.visitChildren(this);
+	}
+}
@@ -0,0 +1,148 @@
+package CodeGenerator;
+
+import java.util.*;
+
+import AST.*;
+import Utilities.Visitor;
+
+/** LoopInvariants finds the expressions of a loop whose value cannot change
+ * while the loop runs, so that GenerateCode can compute them once before
+ * the loop instead of once per iteration.
+ *
+ * An expression is invariant if it is built from literals and from locals
+ * and parameters (NameExpr.myDecl) that are not assigned anywhere in the
+ * loop, using operators without side effects. Only the largest invariant
+ * expressions are returned, and plain literals and names are left alone
+ * as they are as cheap as loading a local.
+ *
+ * Integer division and remainder can throw, so they are never hoisted.
+ * 'array.length' can throw too and is only hoisted from the part of a
+ * for/while condition that is always evaluated first, before anything
+ * else in the loop can happen.
+ */
+class LoopInvariants extends Visitor {
+
+	private HashSet<VarDecl> assigned = new HashSet<VarDecl>();
+	private boolean callsOrThrows = false; // true if the loop has calls or integer division
+	private Vector<Expression> invariants = new Vector<Expression>();
+
+	// 'condition' is the condition of a for/while loop which is evaluated before anything else
+	// in the loop (null for a do loop or a for loop without a condition); 'parts' is the rest.
+	LoopInvariants(boolean debug, Expression condition, AST... parts) {
+		this.debug = debug;
+		if (condition != null)
+			condition.visit(this);
+		for (AST part : parts)
+			if (part != null)
+				part.visit(this);
+
+		if (condition != null)
+			search(condition, !callsOrThrows);
+		for (AST part : parts)
+			search(part, false);
+	}
+
+	// invariants: returns the invariant expressions found in the loop.
+	public Vector<Expression> invariants() {
+		return invariants;
+	}
+
+	// search: finds the largest invariant expressions in 'a'. 'mayThrow' is true if 'a' is
+	//         evaluated unconditionally when the loop is entered.
+	private void search(AST a, boolean mayThrow) {
+		if (a == null)
+			return;
+		if (a instanceof Expression && worthHoisting((Expression)a) && isInvariant((Expression)a, mayThrow)) {
+			invariants.add((Expression)a);
+			return;
+		}
+		if (a instanceof BinaryExpr && (((BinaryExpr)a).op().kind == BinOp.ANDAND || ((BinaryExpr)a).op().kind == BinOp.OROR)) {
+			search(((BinaryExpr)a).left(), mayThrow);
+			search(((BinaryExpr)a).right(), false);
+		} else if (a instanceof Ternary) {
+			search(((Ternary)a).expr(), mayThrow);
+			search(((Ternary)a).trueBranch(), false);
+			search(((Ternary)a).falseBranch(), false);
+		} else
+			for (int i=0; i<a.nchildren; i++)
+				search(a.children[i], mayThrow);
+	}
+
+	// worthHoisting: true for the kinds of expressions that compute something.
+	private boolean worthHoisting(Expression e) {
+		if (e instanceof UnaryPreExpr)
+			return ((UnaryPreExpr)e).op().getKind() != PreOp.PLUSPLUS && ((UnaryPreExpr)e).op().getKind() != PreOp.MINUSMINUS;
+		return e instanceof BinaryExpr || e instanceof CastExpr || (e instanceof FieldRef && ((FieldRef)e).myDecl == null);
+	}
+
+	private boolean isInvariant(Expression e, boolean mayThrow) {
+		if (e instanceof Literal)
+			return true;
+		if (e instanceof NameExpr) {
+			AST decl = ((NameExpr)e).myDecl;
+			return (decl instanceof LocalDecl || decl instanceof ParamDecl) && !assigned.contains((VarDecl)decl);
+		}
+		if (e instanceof BinaryExpr) {
+			BinaryExpr be = (BinaryExpr)e;
+			int kind = be.op().kind;
+			if (be.type.isStringType() || kind == BinOp.INSTANCEOF)
+				return false;
+			if ((kind == BinOp.DIV || kind == BinOp.MOD) && !be.type.isFloatType() && !be.type.isDoubleType())
+				return false;
+			return isInvariant(be.left(), mayThrow) && isInvariant(be.right(), mayThrow);
+		}
+		if (e instanceof UnaryPreExpr)
+			return worthHoisting(e) && isInvariant(((UnaryPreExpr)e).expr(), mayThrow);
+		if (e instanceof CastExpr)
+			return ((CastExpr)e).type().isNumericType() && ((CastExpr)e).expr().type.isNumericType() &&
+				isInvariant(((CastExpr)e).expr(), mayThrow);
+		if (e instanceof FieldRef && ((FieldRef)e).myDecl == null)
+			return mayThrow && isInvariant(((FieldRef)e).target(), mayThrow);
+		return false;
+	}
+
+	// The visitor part collects the locals assigned in the loop and whether anything in it might
+	// call a method or throw an exception before a hoisted 'array.length' would.
+
+	private void markAssigned(Expression expr) {
+		if (expr instanceof NameExpr && ((NameExpr)expr).myDecl instanceof VarDecl)
+			assigned.add((VarDecl)((NameExpr)expr).myDecl);
+	}
+
+	public Object visitLocalDecl(LocalDecl ld) {
+		assigned.add(ld);
+		return ld.visitChildren(this);
+	}
+
+	public Object visitAssignment(Assignment as) {
+		markAssigned(as.left());
+		return as.visitChildren(this);
+	}
+
+	public Object visitUnaryPostExpr(UnaryPostExpr up) {
+		markAssigned(up.expr());
+		return up.visitChildren(this);
+	}
+
+	public Object visitUnaryPreExpr(UnaryPreExpr up) {
+		if (up.op().getKind() == PreOp.PLUSPLUS || up.op().getKind() == PreOp.MINUSMINUS)
+			markAssigned(up.expr());
+		return up.visitChildren(this);
+	}
+
+	public Object visitBinaryExpr(BinaryExpr be) {
+		if ((be.op().kind == BinOp.DIV || be.op().kind == BinOp.MOD) && !be.type.isFloatType() && !be.type.isDoubleType())
+			callsOrThrows = true;
+		return be.visitChildren(this);
+	}
+
+	public Object visitInvocation(Invocation in) {
+		callsOrThrows = true;
+		return in.visitChildren(this);
+	}
+
+	public Object visitNew(New ne) {
+		callsOrThrows = true;
+		return ne.visitChildren(this);
+	}
+}
@@ -5,6 +5,7 @@ import java.util.*;
 import Jasmin.*;
 import Instruction.*;
 import Utilities.Settings;
+import Utilities.Log;
 /** The WriteFiles class is used to write the content of a classFile object 
  * to a file. The extension of the file is determined by the fileExt in the 
  * Settings class.
@@ -18,7 +19,7 @@ public class WriteFiles {
 		ClassFile classFile = cd.classFile;
 
 		String outputFileName = cd.name() + Settings.fileExt;
-		System.out.println("Writing " + (writeOptimized ? "Optimized" : "Unoptimized") + " jasmin file : '" + outputFileName + "'");
+		Log.info("Writing " + (writeOptimized ? "Optimized" : "Unoptimized") + " jasmin file : '" + outputFileName + "'");
 		try {
 			java.io.PrintWriter out;
 			out = new java.io.PrintWriter(new java.io.FileOutputStream(outputFileName));
@@ -84,7 +85,7 @@ public class WriteFiles {
 				((MethodDecl)method).returnType().isVoidType() && 
 				((MethodDecl)method).getModifiers().isStatic() && 
                                 ((MethodDecl)method).getModifiers().isPublic()) {
-		    System.out.println("Generating code for the EVM? " + Utilities.Settings.generateEVMCode);
+		    Log.debug("Generating code for the EVM? " + Utilities.Settings.generateEVMCode);
 		    if (Utilities.Settings.generateEVMCode) 
 			out.println(".method public static main()V");
 		    else
@@ -95,16 +96,13 @@ public class WriteFiles {
 			//address = 1;
 			boolean isAbstract = false;
 			// print parameter signatures
-			Sequence params = null;
 			String methodName = "";
 			Modifiers modifiers = null;
 			if (method instanceof MethodDecl) {
-				params     = ((MethodDecl)method).params();
 				methodName = ((MethodDecl)method).name().getname();
 				modifiers  = ((MethodDecl)method).getModifiers();
 				isAbstract = ((MethodDecl)method).getModifiers().isAbstract();
 			} else if (method instanceof ConstructorDecl) {
-				params     = ((ConstructorDecl)method).params();
 				methodName = "<init>";
 				modifiers  = ((ConstructorDecl)method).getModifiers();
 				isAbstract = false;
@@ -117,19 +115,10 @@ public class WriteFiles {
 
 			if (method instanceof MethodDecl || method instanceof ConstructorDecl) {
 				out.print(".method " + modifiers + methodName);
-
-				out.print("(");
-				if (params != null) 
-					for (int i=0; i<params.nchildren; i++) 
-						out.print(((ParamDecl)params.children[i]).type().signature());
-				out.print(")");
-
-				// print return type signature
-				if ((method instanceof MethodDecl && ((MethodDecl)method).returnType() == null) ||
-						(method instanceof ConstructorDecl)){
-					out.println("V");
-				} else 
-					out.println(((MethodDecl)method).returnType().signature());
+				if (method instanceof MethodDecl)
+					out.println(((MethodDecl)method).descriptor());
+				else
+					out.println(((ConstructorDecl)method).descriptor());
 			}
 			else if (method instanceof StaticInitDecl)
 				out.println(".method static <clinit>()V");
@@ -141,7 +130,7 @@ public class WriteFiles {
 		}
 
 		Vector<Instruction> code;
-		code = method.getCode();
+		code = writeOptimized ? method.getOptmizedCode() : method.getCode();
 
 		Iterator<Instruction> it = code.iterator();
 
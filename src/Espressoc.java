@@ -3,24 +3,34 @@ import Scanner.*;
 import Parser.*;
 import Phases.*;
 import Utilities.Settings;
+import Utilities.SourceFile;
+import Utilities.BuildState;
+import Utilities.Log;
+import Utilities.NamePool;
 import AST.*;
 import CodeGenerator.WriteFiles;
 
 public class Espressoc {
 	public static void usage() {
-		System.out.println("Usage: java Espressoc [-ref extension] [-I directory] [-L directory] [-EVM] [-Ttoken] [-Ttree] [-Tsymbol] [-Ttype] [-Tmodifier] [-Tcode] -P:(1|2|3|4|5|6) input");
+		System.out.println("Usage: java Espressoc [-ref extension] [-I directory] [-L directory] [-EVM] [-Ttoken] [-Ttree] [-Tsymbol] [-Ttype] [-Tmodifier] [-Tcode] [-Toptimize] [-v] [-vv] -P:(1|2|3|4|5|6|7) input");
 		System.out.println("       -history. Shows the version history.");
 		System.out.println("       -EVM\tGenerate code for the Espresso Virtual Machine (else code for Java is generated)");
 		System.out.println("       -ref extension\tSpecify the extension of the generated Jasmin files (default is 'j')");
 		System.out.println("       -I dir\tSet the include directory (Default is Include).");
+		System.out.println("       -L dir\tRead imported classes from the .class files in dir instead of the include directory.");
 		System.out.println("       -Ttoken\tPrint the tokens generated by the scanner.");
 		System.out.println("       -Ttree\tPrint the parse tree.");
 		System.out.println("       -Tsymbol\tProduce detailed output from the name checker.");
 		System.out.println("       -Ttype\tProduce detailed output from the type checker"); 
 		System.out.println("       -Tmodifier\tProduce detailed output from the modifier checker");
 		System.out.println("       -Tcode\tProduce detailed output from the code generator.");
+		System.out.println("       -Toptimize\tProduce detailed output from the optimizer.");
 		System.out.println("       -P:X\tRun the all phases of the compiler from phase X and down.");
 		System.out.println("       -nocomment\tDoes not produce comments in the jasmin file.");
+		System.out.println("       -v\tPrint the files read and written and the classes compiled.");
+		System.out.println("       -vv\tLike -v plus details of the code generation.");
+		System.out.println("       -checkpoint\tSave the program after phase 5 and start from it when the same files are compiled again.");
+		System.out.println("       -incremental\tOnly recompile the files that changed (or use classes that changed) since the last -incremental run.");
 		System.out.println("           \tX can be 1,2,3,4,5 or 6");
 		System.out.println("           \t1/2 : scan and parse. No real difference between 1 and 2 "); 
 		System.out.println("           \t3 : like 2 plus the name checker.");
@@ -45,6 +55,7 @@ public class Espressoc {
 	// Minimum value is 1 and maximum is 6.
 	public static int phase;
 	public static void main(String argv[]) {
+	    Log.bufferOutput();
 	    if (argv.length == 0) {
 		System.out.println("Espresso Compiler version XX.YY");
 		usage();
@@ -53,12 +64,17 @@ public class Espressoc {
 	    
 	    
 	    int debugLevel = 0;
+	    boolean incremental = false;
+	    NamePool names = new NamePool(); // shared by all the scanners of this compilation
+	    parser.names = names;
+	    java.util.Vector<parser> parsers = new java.util.Vector<parser>();
 	    for (int i = 0; i < argv.length; i++) {
 		Scanner s = null;
 		parser p = null;
 		try {
 		    if ( argv[i].equals("-")) {
 			s = new Scanner( System.in );
+			s.names = names;
 		    } else if (argv[i].matches("-P:\\d")) {
 			Phase.phase = phase = Integer.parseInt(argv[i].substring(3,4));
 			continue;
@@ -95,6 +111,12 @@ public class Espressoc {
 			Settings.includeDir = argv[i+1];
 			i++;
 			continue;
+		    } else if (argv[i].equals("-L")) {
+			if (argv[i+1].charAt(argv[i+1].length()-1) == '/')
+			    argv[i+1] = argv[i+1].substring(0, argv[i+1].length()-1);
+			Settings.libraryDir = argv[i+1];
+			i++;
+			continue;
 		    } else if (argv[i].equals("-EVM")) {
 			Settings.generateEVMCode = true; // Generate code for the Espresso Virtual Machine
 			continue;
@@ -108,12 +130,26 @@ public class Espressoc {
 		    } else if (argv[i].equals("-version")) {
 			System.out.println("espressoc " + Utilities.Version.getVersion() + "\n" + Utilities.Version.changes[Utilities.Version.changes.length-2]);
 			System.exit(1);
+		    } else if (argv[i].equals("-v")) {
+			Log.level = Log.INFO;
+			continue;
+		    } else if (argv[i].equals("-vv")) {
+			Log.level = Log.DEBUG;
+			continue;
 		    } else if (argv[i].equals("-nocomment")) {
 			    Settings.writeCommentsInJasminFile = false;
 			    continue;
+		    } else if (argv[i].equals("-checkpoint")) {
+			Checkpoint.enabled = true;
+			continue;
+		    } else if (argv[i].equals("-incremental")) {
+			incremental = true;
+			continue;
 		    } else {
 			Error.setFileName(argv[i]);
-			s = new Scanner( new java.io.FileReader(argv[i]) );
+			SourceFile source = new SourceFile(argv[i]);
+			parser.prefetchImports(source);
+			s = new Scanner(source, names);
 		    }
 		    p = new parser(s);
 		}
@@ -121,42 +157,88 @@ public class Espressoc {
 		    System.out.println("File not found : \""+argv[i]+"\"");
 		    System.exit(1);
 		}
+		catch (java.io.IOException e) {
+		    System.out.println("Could not read : \""+argv[i]+"\"");
+		    System.exit(1);
+		}
 		catch (ArrayIndexOutOfBoundsException e) {
 		    usage();
 		}
 		
-		switch (phase) {
-		case 1: new Phase1().execute(p, debugLevel, 0x0001); break;
-		    //<--
-		case 2: new Phase2().execute(p, debugLevel, 0x0003); break;
-		case 3: new Phase3().execute(p, debugLevel, 0x0007); break;
-		case 4: new Phase4().execute(p, debugLevel, 0x000F); break;
-		case 5: new Phase5().execute(p, debugLevel, 0x001F); break;
-		case 6: new Phase6().execute(p, debugLevel, 0x003F); break;
-		case 7: new Phase7().execute(p, debugLevel, 0x007F); break;
-		    //-->
-		default: System.out.println("Phase " + phase + " does not exist.");
-		}
-		
-		if (phase >= 6) {
-		    boolean writeOptimizedCode = (phase == 7);
-		    Compilation program = (Compilation)Phase.root;
-		    for (int j=0; j<program.types().nchildren;j++) {
-			ClassDecl cd = (ClassDecl)program.types().children[j];
-			if (!Utilities.Settings.generateEVMCode) {
-			    // do not generate code for Runnable, Object or Thread                                                                        
-			    if (cd.name().equals("java/lang/Runnable") ||
-				cd.name().equals("java/lang/Thread") ||
-				cd.name().equals("java/lang/Object"))
-				continue;
+		if (p != null)
+		    parsers.add(p);
+	    }
+	    if (parsers.size() == 0) {
+		usage();
+		System.exit(1);
+	    }
+
+	    // With -incremental the files that are up to date are only parsed for their declarations
+	    // and their classes are not generated again.
+	    BuildState buildState = null;
+	    if (incremental && phase >= 6) {
+		buildState = new BuildState(phase + " " + Settings.generateEVMCode + " " +
+					    Settings.writeCommentsInJasminFile + " " + Settings.fileExt + " " +
+					    Settings.includeDir + " " + Settings.libraryDir);
+		java.util.Vector<String> fileNames = new java.util.Vector<String>();
+		for (parser q : parsers)
+		    if (q.lexer.fileName != null)
+			fileNames.add(q.lexer.fileName);
+		try {
+		    java.util.Set<String> upToDate = buildState.findUpToDate(fileNames);
+		    for (parser q : parsers)
+			if (upToDate.contains(q.lexer.fileName)) {
+			    Log.info("Up to date : " + q.lexer.fileName);
+			    q.skeleton = true;
+			    q.upToDate = true;
 			}
-			if (cd.generateCode())
-			    WriteFiles.writeFile(cd, writeOptimizedCode, Utilities.Settings.writeCommentsInJasminFile);
+		} catch (java.io.IOException e) {
+		    System.out.println("Could not read the input files for an incremental compile.");
+		    System.exit(1);
+		}
+	    }
+
+	    // All the files are compiled together: Phase1 parses them into one Compilation and
+	    // every other phase runs once over all of their classes.
+	    switch (phase) {
+	    case 1: new Phase1().execute(parsers, debugLevel, 0x0001); break;
+		//<--
+	    case 2: new Phase2().execute(parsers, debugLevel, 0x0003); break;
+	    case 3: new Phase3().execute(parsers, debugLevel, 0x0007); break;
+	    case 4: new Phase4().execute(parsers, debugLevel, 0x000F); break;
+	    case 5: new Phase5().execute(parsers, debugLevel, 0x001F); break;
+	    case 6: new Phase6().execute(parsers, debugLevel, 0x003F); break;
+	    case 7: new Phase7().execute(parsers, debugLevel, 0x007F); break;
+		//-->
+	    default: System.out.println("Phase " + phase + " does not exist.");
+	    }
+	    
+	    if (phase >= 6) {
+		boolean writeOptimizedCode = (phase == 7);
+		Compilation program = (Compilation)Phase.root;
+		for (int j=0; j<program.types().nchildren;j++) {
+		    ClassDecl cd = (ClassDecl)program.types().children[j];
+		    if (!Utilities.Settings.generateEVMCode) {
+			// do not generate code for Runnable, Object or Thread                                                                        
+			if (cd.name().equals("java/lang/Runnable") ||
+			    cd.name().equals("java/lang/Thread") ||
+			    cd.name().equals("java/lang/Object"))
+			    continue;
 		    }
-		    
+		    if (cd.generateCode())
+			WriteFiles.writeFile(cd, writeOptimizedCode, Utilities.Settings.writeCommentsInJasminFile);
+		}
+		
+	    }
+	    if (buildState != null) {
+		buildState.record((Compilation)Phase.root);
+		try {
+		    buildState.write();
+		} catch (java.io.IOException e) {
+		    System.out.println("Could not write " + BuildState.FILE_NAME);
 		}
-		System.out.println("============= S = U = C = C = E = S = S =================");
 	    }
+	    System.out.println("============= S = U = C = C = E = S = S =================");
 	}
 }
 
@@ -23,6 +23,15 @@ public class LookupSwitchInstruction extends Instruction {
     public String getDefaultLabel() {
 	return defaultLabel;
     }
+
+	// getTargetLabels: returns the labels of all the cases followed by the default label.
+	public Vector<String> getTargetLabels() {
+		Vector<String> labels = new Vector<String>();
+		for (SwitchLabel sl : sm.values())
+			labels.add("L" + sl.getSwitchGroup().getLabel());
+		labels.add(defaultLabel);
+		return labels;
+	}
 	public String toString() {
 		String result = "lookupswitch\n";
 		SwitchLabel sl = null;	
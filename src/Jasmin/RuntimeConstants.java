@@ -333,6 +333,11 @@ public class RuntimeConstants {
 	private static Integer uncondJumps[] = { opc_goto, opc_goto_w, opc_jsr, opc_jsr_w} ;
 	public static HashSet<Integer> uncondJumpSet;
 
+	private static Integer condJumps[] = { opc_ifeq, opc_ifne, opc_iflt, opc_ifge, opc_ifgt, opc_ifle,
+		opc_if_icmpeq, opc_if_icmpne, opc_if_icmplt, opc_if_icmpge, opc_if_icmpgt, opc_if_icmple,
+		opc_if_acmpeq, opc_if_acmpne, opc_ifnull, opc_ifnonnull };
+	public static HashSet<Integer> condJumpSet;
+
 	public static Hashtable<String,Integer>instructions = new Hashtable<String,Integer>();
 	
 	static {
@@ -341,6 +346,7 @@ public class RuntimeConstants {
 			loadSet       = new HashSet<Integer>(Arrays.asList(loads));
 			returnSet     = new HashSet<Integer>(Arrays.asList(returns));
 			uncondJumpSet = new HashSet<Integer>(Arrays.asList(uncondJumps));
+			condJumpSet   = new HashSet<Integer>(Arrays.asList(condJumps));
 		} catch (Exception e) {
 		}
 		
@@ -348,6 +354,30 @@ public class RuntimeConstants {
 			instructions.put(opcNames[i],i);
 	}
 	
+	// negateJump: returns the conditional jump that branches exactly when 'opCode' does not, 
+	//             or -1 if 'opCode' is not a conditional jump.
+	public static int negateJump(int opCode) {
+		switch (opCode) {
+		case opc_ifeq:      return opc_ifne;
+		case opc_ifne:      return opc_ifeq;
+		case opc_iflt:      return opc_ifge;
+		case opc_ifge:      return opc_iflt;
+		case opc_ifgt:      return opc_ifle;
+		case opc_ifle:      return opc_ifgt;
+		case opc_if_icmpeq: return opc_if_icmpne;
+		case opc_if_icmpne: return opc_if_icmpeq;
+		case opc_if_icmplt: return opc_if_icmpge;
+		case opc_if_icmpge: return opc_if_icmplt;
+		case opc_if_icmpgt: return opc_if_icmple;
+		case opc_if_icmple: return opc_if_icmpgt;
+		case opc_if_acmpeq: return opc_if_acmpne;
+		case opc_if_acmpne: return opc_if_acmpeq;
+		case opc_ifnull:    return opc_ifnonnull;
+		case opc_ifnonnull: return opc_ifnull;
+		}
+		return -1;
+	}
+
 	public static boolean isPublic(int access) {
 		return ((access & ACC_PUBLIC) != 0);
 	}
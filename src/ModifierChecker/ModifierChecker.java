@@ -22,7 +22,7 @@ public class ModifierChecker extends Visitor {
 
 	/** Assignment */
 	public Object visitAssignment(Assignment as) {
-	    println(as.line + ": Visiting an assignment (Operator: " + as.op()+ ")");
+	    if (debug) println(as.line + ": Visiting an assignment (Operator: " + as.op()+ ")");
 
 		boolean oldLeftHandSide = leftHandSide;
 
@@ -76,13 +76,13 @@ public class ModifierChecker extends Visitor {
 
 	/** CInvocation */
 	public Object visitCInvocation(CInvocation ci) {
-	    println(ci.line + ": Visiting an explicit constructor invocation (" + (ci.superConstructorCall() ? "super" : "this") + ").");
+	    if (debug) println(ci.line + ": Visiting an explicit constructor invocation (" + (ci.superConstructorCall() ? "super" : "this") + ").");
 
 		//<--
 		// Check if the constructor invocation super(...) is private
 		if (ci.superConstructorCall() && ci.constructor.getModifiers().isPrivate())
 			Error.error(ci, "Constructor " + ci.targetClass.name() + "(" +
-					Type.parseSignature(ci.constructor.paramSignature()) +
+					ci.constructor.parsedParamSignature() +
 					" )  was declared 'private' in class '"	+ ci.targetClass.name() + "'.");
 
 		super.visitCInvocation(ci);
@@ -93,7 +93,7 @@ public class ModifierChecker extends Visitor {
 
 	/** ClassDecl */
 	public Object visitClassDecl(ClassDecl cd) {
-		println(cd.line + ": Visiting a class declaration for class '" + cd.name() + "'.");
+		if (debug) println(cd.line + ": Visiting a class declaration for class '" + cd.name() + "'.");
 
 		currentClass = cd;
 
@@ -122,19 +122,22 @@ public class ModifierChecker extends Visitor {
 		StaticInitDecl si = null;
 		if (st != null)
 		    si = (StaticInitDecl)st.get("");
-		// check that all static final fields are initialized exactly once
-		for (int i=0; i<cd.body().nchildren; i++) {
-		    if (cd.body().children[i] instanceof FieldDecl) {
-			FieldDecl fd = (FieldDecl)cd.body().children[i];
-			if (fd.modifiers.isStatic() && fd.modifiers.isFinal()) {		
-			    if (fd.var().init() == null) {
-				// if there is no initializer on the field declartion there must be a static
-				// initializer that initializes the field.
-				if (si == null || !si.initializedFields.contains(fd.var().name().getname()))
-				    Error.error(fd,"final field '" + fd.var().name().getname() + "' has not been initialized!"); 
-			    } else if (fd.var().init() != null && si.initializedFields.contains(fd.var().name().getname()))
-				Error.error(fd,"final field '" + fd.var().name().getname() + "' has already been initialized!");
+		// check that all static final fields are initialized exactly once. Imported classes
+		// were compiled already, and the ones read from class files have no initializers.
+		if (cd.generateCode()) {
+		    for (int i=0; i<cd.body().nchildren; i++) {
+			if (cd.body().children[i] instanceof FieldDecl) {
+			    FieldDecl fd = (FieldDecl)cd.body().children[i];
+			    if (fd.modifiers.isStatic() && fd.modifiers.isFinal()) {		
+				if (fd.var().init() == null) {
+				    // if there is no initializer on the field declartion there must be a static
+				    // initializer that initializes the field.
+				    if (si == null || !si.initializedFields.contains(fd.var().name().getname()))
+					Error.error(fd,"final field '" + fd.var().name().getname() + "' has not been initialized!"); 
+				} else if (fd.var().init() != null && si.initializedFields.contains(fd.var().name().getname()))
+				    Error.error(fd,"final field '" + fd.var().name().getname() + "' has already been initialized!");
 				
+			    }
 			}
 		    }
 		}
@@ -147,7 +150,7 @@ public class ModifierChecker extends Visitor {
 
 	/** FieldDecl */
 	public Object visitFieldDecl(FieldDecl fd) {
-	    println(fd.line + ": Visiting a field declaration for field '" +fd.var().name() + "'.");
+	    if (debug) println(fd.line + ": Visiting a field declaration for field '" +fd.var().name() + "'.");
 
 		// If field is not private and hasn't been declared public make it so.
 		if (!fd.modifiers.isPrivate() && !fd.modifiers.isPublic())
@@ -188,7 +191,7 @@ public class ModifierChecker extends Visitor {
 
 	/** FieldRef */
 	public Object visitFieldRef(FieldRef fr) {
-	    println(fr.line + ": Visiting a field reference '" + fr.fieldName() + "'.");
+	    if (debug) println(fr.line + ": Visiting a field reference '" + fr.fieldName() + "'.");
 
 		//<--
 		FieldDecl fd = fr.myDecl;
@@ -240,7 +243,7 @@ public class ModifierChecker extends Visitor {
 
 	/** MethodDecl */
 	public Object visitMethodDecl(MethodDecl md) {
-	    println(md.line + ": Visiting a method declaration for method '" + md.name() + "'.");
+	    if (debug) println(md.line + ": Visiting a method declaration for method '" + md.name() + "'.");
 
 		//<--
 		currentContext = md;
@@ -304,7 +307,7 @@ public class ModifierChecker extends Visitor {
 
 	/** Invocation */
 	public Object visitInvocation(Invocation in) {
-	    println(in.line + ": Visiting an invocation of method '" + in.methodName() + "'.");
+	    if (debug) println(in.line + ": Visiting an invocation of method '" + in.methodName() + "'.");
 	    
 	    //<--
 	    // 12/06/13 .length() for Strings
@@ -345,7 +348,7 @@ public class ModifierChecker extends Visitor {
 	    // Attempt to call a private method in a different class
 	    if (in.targetMethod.getModifiers().isPrivate())
 		if (!in.targetMethod.getMyClass().equals(currentClass))
-		    Error.error(in, "" + in.methodName().getname() + "(" + Type.parseSignature(in.targetMethod.paramSignature()) +
+		    Error.error(in, "" + in.methodName().getname() + "(" + in.targetMethod.parsedParamSignature() +
 				" ) has private access in '" + in.targetMethod.getMyClass().className().getname() + "'.");
 	    
 	    in.params().visit(this);
@@ -356,13 +359,13 @@ public class ModifierChecker extends Visitor {
     
 
 	public Object visitNameExpr(NameExpr ne) {
-	    println(ne.line + ": Visiting a name expression '" + ne.name() + "'. (Nothing to do!)");
+	    if (debug) println(ne.line + ": Visiting a name expression '" + ne.name() + "'. (Nothing to do!)");
 	    return null;
 	}
 
 	/** ConstructorDecl */
 	public Object visitConstructorDecl(ConstructorDecl cd) {
-	    println(cd.line + ": visiting a constructor declaration for class '" + cd.name() + "'.");
+	    if (debug) println(cd.line + ": visiting a constructor declaration for class '" + cd.name() + "'.");
 	      
 		//<--
 	        
@@ -405,21 +408,23 @@ public class ModifierChecker extends Visitor {
 		// initializedFields now MUST contain all final non-static fields that were
 		// not initialized when they were declared.
 
-		// loop though the body of the class and deal with all fields
-		for (int i=0;i<currentClass.body().nchildren; i++) {
-		    // is it a field?
-		    if (currentClass.body().children[i] instanceof FieldDecl) {
-			FieldDecl fd = (FieldDecl)currentClass.body().children[i];
-			// is it final and non-static and not initialized?
-			if (fd.modifiers.isFinal() &&
-			    !fd.modifiers.isStatic() &&
-			    fd.var().init() == null) {
-			    // final, non static field without an initializer
-			    // must be in the list of initialized fields
-			    if (!cd.initializedFields.contains(fd.var().name().getname())) 
-				Error.error(cd,"final field '" + fd.var().name().getname() + "' may not have been initialized!");
-			}
+		// loop though the body of the class and deal with all fields (not for imported classes)
+		if (currentClass.generateCode()) {
+		    for (int i=0; i<currentClass.body().nchildren; i++) {
+			// is it a field?
+			if (currentClass.body().children[i] instanceof FieldDecl) {
+			    FieldDecl fd = (FieldDecl)currentClass.body().children[i];
+			    // is it final and non-static and not initialized?
+			    if (fd.modifiers.isFinal() &&
+				!fd.modifiers.isStatic() &&
+				fd.var().init() == null) {
+				// final, non static field without an initializer
+				// must be in the list of initialized fields
+				if (!cd.initializedFields.contains(fd.var().name().getname())) 
+				    Error.error(cd,"final field '" + fd.var().name().getname() + "' may not have been initialized!");
+			    }
 			
+			}
 		    }
 		}
 		
@@ -431,7 +436,7 @@ public class ModifierChecker extends Visitor {
 
 	/** New */
 	public Object visitNew(New ne) {
-	    println(ne.line + ": visiting a new '" + ne.type().myDecl.name() + "'.");
+	    if (debug) println(ne.line + ": visiting a new '" + ne.type().myDecl.name() + "'.");
 
 		//<--
 		// We cannot create a new object based on an abstract class
@@ -443,7 +448,7 @@ public class ModifierChecker extends Visitor {
 		// as it is defined in.
 		if (ne.getConstructorDecl().getModifiers().isPrivate()
 				&& !currentClass.name().equals(ne.type().myDecl.name()))
-			Error.error(ne, "" + ne.type().myDecl.name() + "(" + Type.parseSignature(ne.getConstructorDecl().paramSignature()) +
+			Error.error(ne, "" + ne.type().myDecl.name() + "(" + ne.getConstructorDecl().parsedParamSignature() +
 					" ) has private access in '" + ne.type().myDecl.name() + "'.");
 		super.visitNew(ne);
 		//-->
@@ -453,7 +458,7 @@ public class ModifierChecker extends Visitor {
 
 	/** StaticInit */
 	public Object visitStaticInitDecl(StaticInitDecl si) {
-		println(si.line + ": visiting a static initializer");
+		if (debug) println(si.line + ": visiting a static initializer");
 
 		//<--
 		currentContext = si;
@@ -466,7 +471,7 @@ public class ModifierChecker extends Visitor {
 
 	/** Super */
 	public Object visitSuper(Super su) {
-		println(su.line + ": visiting a super");
+		if (debug) println(su.line + ": visiting a super");
 
 		if (currentContext.isStatic())
 			Error.error(su,
@@ -477,7 +482,7 @@ public class ModifierChecker extends Visitor {
 
 	/** This */
 	public Object visitThis(This th) {
-		println(th.line + ": visiting a this");
+		if (debug) println(th.line + ": visiting a this");
 
 		if (currentContext.isStatic())
 			Error.error(th,	"non-static variable this cannot be referenced from a static context");
@@ -487,7 +492,7 @@ public class ModifierChecker extends Visitor {
 
 	/** UnaryPostExpression */
     public Object visitUnaryPostExpr(UnaryPostExpr up) {
-	println(up.line + ": visiting a unary post expression with operator '" + up.op() + "'.");
+	if (debug) println(up.line + ": visiting a unary post expression with operator '" + up.op() + "'.");
 	
 	//<--
 	if (up.expr() instanceof FieldRef && 
@@ -510,7 +515,7 @@ public class ModifierChecker extends Visitor {
     
     /** UnaryPreExpr */
     public Object visitUnaryPreExpr(UnaryPreExpr up) {
-	println(up.line + ": visiting a unary pre expression with operator '" + up.op() + "'.");
+	if (debug) println(up.line + ": visiting a unary pre expression with operator '" + up.op() + "'.");
 	
 	//<--
 	if (up.expr() instanceof FieldRef && 
@@ -118,7 +118,7 @@ public class ClassAndMemberFinder extends Visitor {
     
     /** CLASS DECLARATION */
     public Object visitClassDecl(ClassDecl cd) {
-	println("ClassDecl:\t Inserting class '" + cd.name() +"' into global class table.");
+	if (debug) println("ClassDecl:\t Inserting class '" + cd.name() +"' into global class table.");
 	
 	// Enter this class into the class table 
 	classTable.put(cd.name(), cd);
@@ -152,7 +152,7 @@ public class ClassAndMemberFinder extends Visitor {
 						    new Sequence());
 	    addMethod(cd, c, "<init>", "");
 	    cd.body().append(c);
-	    println("ClassDecl:\t Generating default construction <init>() for class '" + cd.name() + "'");
+	    if (debug) println("ClassDecl:\t Generating default construction <init>() for class '" + cd.name() + "'");
 	}
 	
 	return null;
@@ -167,7 +167,7 @@ public class ClassAndMemberFinder extends Visitor {
 	if (!methodName.equals(currentClass.name())) 
 	    Error.error(cd,"Constructor must be named the same as the class.");
 	else {
-	    println("ConstructorDecl: Inserting constructor '<init>' with signature '" + s + 
+	    if (debug) println("ConstructorDecl: Inserting constructor '<init>' with signature '" + s + 
 		    "' into method table for class '" + 
 		    currentClass.name() + "'.");
 	    addMethod(currentClass, cd, "<init>", s);
@@ -178,7 +178,7 @@ public class ClassAndMemberFinder extends Visitor {
     /** FIELD DECLARATION - Insert all fields into the FieldTable of the class.
         Note, we will only be visiting field declarations. */
     public Object visitFieldDecl(FieldDecl fd) {
-	println("FieldDecl:\t Inserting field '" + fd.name() + 
+	if (debug) println("FieldDecl:\t Inserting field '" + fd.name() + 
 		"' into field table of class '" + currentClass.name() + "'.");
 	// Set var's myDecl to point to this FieldDecl so we can type check its initializer later.
 	fd.var().myDecl = fd;
@@ -194,7 +194,7 @@ public class ClassAndMemberFinder extends Visitor {
 	String s = md.paramSignature();
 	md.setMyClass(currentClass);
 	
-	println("MethodDecl:\t Inserting method '" + methodName + 
+	if (debug) println("MethodDecl:\t Inserting method '" + methodName + 
 		"' with signature '" + s + "' into method table for class '" + 
 		currentClass.name() + "'.");
 	addMethod(currentClass, md, methodName, s);
@@ -204,7 +204,7 @@ public class ClassAndMemberFinder extends Visitor {
     
     /** STATIC INITIALIZER - insert static initializer with name <clinit> */
     public Object visitStaticInitDecl(StaticInitDecl si) {
-	println("StaticInitDecl:\t Inserting <clinit> into method table for class '" + 
+	if (debug) println("StaticInitDecl:\t Inserting <clinit> into method table for class '" + 
 		currentClass.name() + "'.");
 	
 	addMethod(currentClass, si, "<clinit>", "");
@@ -0,0 +1,126 @@
+package NameChecker;
+
+import java.util.*;
+
+import AST.*;
+import Utilities.Error;
+import Utilities.SymbolTable;
+
+/** ClassMembers builds the flattened member tables of a class: every
+ * method name (mapped to the SymbolTable holding its overloads) and every
+ * field visible in the class, its own as well as the inherited ones, and
+ * the list of all methods in its class hierarchy.
+ *
+ * The tables of a class are built from those of its superclass and its
+ * interfaces, which are built first, so every class is only processed
+ * once no matter how many classes inherit from it. A name is taken from
+ * the class itself, then from the superclass and then from the interfaces
+ * in order; that is the order NameChecker.getMethod() and getField() used
+ * to search the hierarchy in.
+ *
+ * The tables are built the first time they are needed, which is after
+ * ClassAndMemberFinder has filled the method and field tables and MyDeclSet
+ * has resolved the superclasses and interfaces.
+ *
+ * The sets of abstract methods a class leaves unimplemented (see
+ * abstractMethods()) are made the same way, from the sets of the superclass
+ * and the interfaces.
+ */
+class ClassMembers {
+
+	// build: makes sure the member tables of 'cd' exist.
+	static void build(ClassDecl cd) {
+		if (cd.visibleMethods != null)
+			return;
+		if (cd.buildingMembers)
+			Error.error(cd,"Cyclic inheritance involving " + cd.name());
+		cd.buildingMembers = true;
+
+		HashMap<String,SymbolTable> methods = new HashMap<String,SymbolTable>();
+		for (Map.Entry<String,Object> e : cd.methodTable.entries.entrySet())
+			methods.put(e.getKey(), (SymbolTable)e.getValue());
+		HashMap<String,AST> fields = new HashMap<String,AST>();
+		for (Map.Entry<String,Object> e : cd.fieldTable.entries.entrySet())
+			fields.put(e.getKey(), (AST)e.getValue());
+		Sequence hierarchy = new Sequence();
+		// Object has nothing to contribute to the method hierarchy.
+		if (!cd.name().equals("Object"))
+			for (int i=0; i<cd.body().nchildren; i++)
+				if (cd.body().children[i] instanceof MethodDecl)
+					hierarchy.append(cd.body().children[i]);
+
+		if (cd.superClass() != null)
+			inherit(cd.superClass().myDecl, methods, fields, hierarchy);
+		for (int i=0; i<cd.interfaces().nchildren; i++)
+			inherit(((ClassType)cd.interfaces().children[i]).myDecl, methods, fields, hierarchy);
+
+		hierarchy.trim();
+		cd.visibleMethods = methods;
+		cd.visibleFields = fields;
+		cd.hierarchyMethods = hierarchy;
+		cd.buildingMembers = false;
+	}
+
+	// abstractMethods: the abstract methods of the class hierarchy of 'cd' that are not implemented
+	//                  by 'cd' or one of its superclasses.
+	static HashSet<String> abstractMethods(ClassDecl cd) {
+		buildMethodSets(cd);
+		return cd.abstractMethods;
+	}
+
+	// buildMethodSets: an abstract method is left unimplemented if it is declared by the class, or
+	//                  left unimplemented by its superclass or an interface and not implemented
+	//                  by the class or any of its superclasses. The concrete methods are those of
+	//                  the superclass and the class, except the ones the class declares abstract.
+	private static void buildMethodSets(ClassDecl cd) {
+		if (cd.abstractMethods != null)
+			return;
+		build(cd); // reports cyclic inheritance
+
+		HashSet<String> abstracts = new HashSet<String>();
+		HashSet<String> concretes = new HashSet<String>();
+		for (int i=0; i<cd.interfaces().nchildren; i++) {
+			ClassDecl id = ((ClassType)cd.interfaces().children[i]).myDecl;
+			buildMethodSets(id);
+			abstracts.addAll(id.abstractMethods);
+		}
+		if (cd.superClass() != null) {
+			ClassDecl sd = cd.superClass().myDecl;
+			buildMethodSets(sd);
+			abstracts.addAll(sd.abstractMethods);
+			concretes.addAll(sd.concreteMethods);
+		}
+
+		HashSet<String> declaredAbstract = new HashSet<String>();
+		for (int i=0; i<cd.body().nchildren; i++)
+			if (cd.body().children[i] instanceof MethodDecl) {
+				MethodDecl md = (MethodDecl)cd.body().children[i];
+				if (md.getModifiers().isAbstract() || md.block() == null)
+					declaredAbstract.add(methodString(md));
+				else
+					concretes.add(methodString(md));
+			}
+		concretes.removeAll(declaredAbstract);
+		abstracts.removeAll(concretes);
+		abstracts.addAll(declaredAbstract);
+
+		cd.abstractMethods = abstracts;
+		cd.concreteMethods = concretes;
+	}
+
+	// methodString: a method as it is listed in error messages, like 'void foo( int double )'.
+	private static String methodString(MethodDecl md) {
+		return Type.parseSignature(md.returnType().signature()) + " " + md.name() + "(" + md.parsedParamSignature() + " )";
+	}
+
+	private static void inherit(ClassDecl from, HashMap<String,SymbolTable> methods, HashMap<String,AST> fields, Sequence hierarchy) {
+		build(from);
+		for (Map.Entry<String,SymbolTable> e : from.visibleMethods.entrySet())
+			if (!methods.containsKey(e.getKey()))
+				methods.put(e.getKey(), e.getValue());
+		for (Map.Entry<String,AST> e : from.visibleFields.entrySet())
+			if (!fields.containsKey(e.getKey()))
+				fields.put(e.getKey(), e.getValue());
+		hierarchy.merge(from.hierarchyMethods);
+	}
+}
@@ -25,7 +25,7 @@ public class MyDeclSet extends Visitor {
 	public Object visitClassType(ClassType ct) {
 		ClassDecl cd = (ClassDecl) classTable.get(ct.typeName());
 
-		println("ClassType:\t Setting myDecl for '" + ct.typeName() + "'");
+		if (debug) println("ClassType:\t Setting myDecl for '" + ct.typeName() + "'");
 
 		if (cd == null) 
 			Error.error(ct,"Class '" + ct.typeName() + "' not found.");
@@ -31,31 +31,11 @@ public class NameChecker extends Visitor {
     public static SymbolTable getMethod(String methodName, ClassDecl cd) {
 	
 	//<--
-	// Look in the class' methodTable
-	SymbolTable lookup = (SymbolTable)cd.methodTable.get(methodName);
-	if (lookup != null)
-	    return lookup;
-	
-	// No method found, if there is a super class look there.
-	if (cd.superClass() != null) 
-	    lookup = getMethod(methodName, cd.superClass().myDecl);
-	
-	if (lookup != null)
-	    return lookup;
-	
-	// no method found, if there are interfaces look there.
-	Sequence interfaces = cd.interfaces();
-	if (interfaces.nchildren > 0) {
-	    for (int i=0; i<interfaces.nchildren; i++) {
-		lookup = getMethod(methodName, ((ClassType)interfaces.children[i]).myDecl);
-		if (lookup != null)
-		    // We found one
-		    return lookup;
-	    }
-	}
-	// no method found in the class/interface hierarchy, so return null.
+	// The class' flattened method table already holds the inherited methods in the order
+	// described above (see ClassMembers).
+	ClassMembers.build(cd);
+	return cd.visibleMethods.get(methodName);
 	//-->
-	return null;
     }
     
 
@@ -66,31 +46,9 @@ public class NameChecker extends Visitor {
     public static AST getField(String fieldName, ClassDecl cd) {
 	
 	//<--
-	// Look in the class' fieldTable
-	AST lookup = (AST)cd.fieldTable.get(fieldName);
-	if (lookup != null)
-	    return lookup;
-	
-	// No field found, if there is a super class look there.
-	if (cd.superClass() != null) 
-	    lookup = getField(fieldName, cd.superClass().myDecl);
-	
-	if (lookup != null)
-	    return lookup;
-	
-	// no field found, if there are interfaces look there.
-	Sequence interfaces = cd.interfaces();
-	if (interfaces.nchildren > 0) {
-	    for (int i=0; i<interfaces.nchildren; i++) {
-		lookup = getField(fieldName, ((ClassType)interfaces.children[i]).myDecl);
-		if (lookup != null)
-		    // We found it.
-		    return lookup;
-	    }
-	}
-	// no field found in the class/interface hierarchy, so return null.
+	ClassMembers.build(cd);
+	return cd.visibleFields.get(fieldName);
 	//-->
-	return null;
     }
     
     /* getClassHierarchyMethods: Traverses all the classes and interfaces and builds a sequence
@@ -100,35 +58,14 @@ public class NameChecker extends Visitor {
        lst: The Sequence to which we add all methods from 'cd' of type MethodDecl.
             (The easiest approach is simply to for-loop through the body of 'cd' and 
 	     add all the ClassBodyDecls that are instanceof of MethodDecl.)
-       seenClasses: a hash set to hold the names of all the classes we have seen so far.
-                    This set is used in the following way: when entering the method check if
-		    the name of 'cd' is already in the set -- if it is then it is cause we have
-		    a circular inheritance like A :> B :> A -- this is illegal.
-		    Before we leave the method we remove the name of 'cd' again.
+       Circular inheritance like A :> B :> A is reported by ClassMembers.build when it
+       builds the list.
     */
-    public void getClassHierarchyMethods(ClassDecl cd, Sequence lst, HashSet<String> seenClasses) {
+    public void getClassHierarchyMethods(ClassDecl cd, Sequence lst) {
 	//<--
-	String className = cd.name();
-	
-	// if we reach object the just skip it - there is nothing there to look up!
-	if (className.equals("Object"))
-	    return;
-	// have we visited this class or interface before?
-	if (seenClasses.contains(className))
-	    Error.error(cd,"Cyclic inheritance involving " + className);
-	else 
-	    seenClasses.add(className);
-	
-	for (int i=0 ;i< cd.body().nchildren; i++) 
-	    if (cd.body().children[i] instanceof MethodDecl)
-		lst.append(cd.body().children[i]);
-	
-	if (cd.superClass() != null)
-	    getClassHierarchyMethods(cd.superClass().myDecl, lst, seenClasses);
-	if (cd.interfaces().nchildren > 0) 
-	    for (int i=0; i<cd.interfaces().nchildren; i++) 
-		getClassHierarchyMethods(((ClassType)cd.interfaces().children[i]).myDecl, lst, seenClasses);
-	seenClasses.remove(className);
+	// The list is built once per class by ClassMembers (which also reports cyclic inheritance).
+	ClassMembers.build(cd);
+	lst.merge(cd.hierarchyMethods);
 	//-->
     }
     
@@ -155,8 +92,8 @@ public class NameChecker extends Visitor {
 		    md.paramSignature().equals(md2.paramSignature()) &&
 		    !md.returnType().identical(md2.returnType())) {
 		    Error.error("Method '" + md.getname() + "' has been declared with two different return types:", false);
-		    Error.error(md, Type.parseSignature(md.returnType().signature()) + " " + md.getname() + "(" + Type.parseSignature(md.paramSignature()) + " )", false);
-		    Error.error(md2,Type.parseSignature(md2.returnType().signature()) + " " + md2.getname() + "(" + Type.parseSignature(md2.paramSignature()) + " )");
+		    Error.error(md, Type.parseSignature(md.returnType().signature()) + " " + md.getname() + "(" + md.parsedParamSignature() + " )", false);
+		    Error.error(md2,Type.parseSignature(md2.returnType().signature()) + " " + md2.getname() + "(" + md2.parsedParamSignature() + " )");
 		}
 	    }
 	}
@@ -170,12 +107,12 @@ public class NameChecker extends Visitor {
 	    if (md2 != null) {		
 		// A method with this name and signature already exists.
 		// Check if it has the same return type.
-		if (!(""+md2.returnType()).equals(""+md.returnType())) {
+		if (!md2.returnType().identical(md.returnType())) {
 		    Error.error("Method '" + md.getname() + "' has been declared with two different return types:", false);
 		    Error.error(md, Type.parseSignature(md.returnType().signature()) + " " +
-				md.getname() + "(" + Type.parseSignature(md.paramSignature()) + " )", false);
+				md.getname() + "(" + md.parsedParamSignature() + " )", false);
 		    Error.error(md2,Type.parseSignature(md2.returnType().signature()) + " " +
-				md2.getname() + "(" + Type.parseSignature(md2.paramSignature()) + " )");
+				md2.getname() + "(" + md2.parsedParamSignature() + " )");
 		}
 	    }
 	    methods.put(key, md);
@@ -183,71 +120,11 @@ public class NameChecker extends Visitor {
 	//-->
     }
 
-    //<--
-    // M: Implements the M algorithm from the Book. See Section XXX.
-    // abstracts: A hash set of the abstract methods
-    // concretes: A hash set of the concrete methods
-    // cd: The Class Decl we are considering now.
-    //
-    // This method should traverse the class hierarchy exactly like findMethod.
-    //
-    // The string associated with a method is as follows:
-    //
-    // For example: void foo(int x, double d) { ... } we use the string
-    //              void bar( int double )
-    //
-    // To create this string we can use the Type.parseSignature() method on the return type as
-    // well as on the paramaters and then glue it all together with the name and a set of ( )    
-    public void M(HashSet<String> abstracts, HashSet<String> concretes, ClassDecl cd) {
-	for (int i=0; i<cd.interfaces().nchildren; i++)
-	    M(abstracts, concretes, ((ClassType)cd.interfaces().children[i]).myDecl);
-
-	if (cd.superClass() != null)
-	    M(abstracts, concretes, cd.superClass().myDecl);
-
-	// Remove the concretes (these are from the super class only and will only ever
-	// remove something that was added to the abstract set from interfaces of cd.
-	Iterator<String> it = concretes.iterator();
-        while (it.hasNext()) {
-            String s = it.next();
-            abstracts.remove(s);
-        }
-
-        // Remove the concretes from this class
-	for (int i=0; i<cd.body().nchildren; i++) {
-            if (cd.body().children[i] instanceof MethodDecl) {
-                MethodDecl md = (MethodDecl)cd.body().children[i];
-                if (!md.getModifiers().isAbstract()) {
-                    concretes.add(Type.parseSignature(md.returnType().signature()) + " " +
-				  md.name()+"("+Type.parseSignature(md.paramSignature()) + " )");
-		    //System.out.println(Type.parseSignature(md.returnType().signature()) + " " +
-                    //              md.name()+"("+Type.parseSignature(md.paramSignature()) + " )");
-                    abstracts.remove(Type.parseSignature(md.returnType().signature()) + " " +
-				     md.name()+"("+Type.parseSignature(md.paramSignature()) + " )");
-                }
-            }
-        }
-
-        // Add the abstract ones again
-	for (int i=0; i<cd.body().nchildren; i++) {
-            if (cd.body().children[i] instanceof MethodDecl) {
-                MethodDecl md = (MethodDecl)cd.body().children[i];
-                if (md.getModifiers().isAbstract() || md.block() == null) {
-                    abstracts.add(Type.parseSignature(md.returnType().signature()) + " " +
-				  md.name()+"("+Type.parseSignature(md.paramSignature()) + " )");
-                    concretes.remove(Type.parseSignature(md.returnType().signature()) + " " +
-				     md.name()+"("+Type.parseSignature(md.paramSignature()) + " )");
-                }
-            }
-        }
-    }
-    //-->
-
     public void checkImplementationOfAbstractClasses(ClassDecl cd, Sequence methods) {
 	//<--
-	HashSet<String> con = new HashSet<String>();
-	HashSet<String> abs = new HashSet<String>();
-	M(abs, con, cd);
+	// The unimplemented methods are worked out once per class, from those of its
+	// superclass and interfaces; see ClassMembers.abstractMethods().
+	HashSet<String> abs = ClassMembers.abstractMethods(cd);
 	if (abs.size() != 0) {
 	    Error.error(cd, "class '" + cd.name() + "' is not abstract and does not override abstract methods:", false);
 	    Iterator<String> it = abs.iterator();
@@ -332,7 +209,7 @@ public class NameChecker extends Visitor {
     
     /** CLASS DECLARATION */
     public Object visitClassDecl(ClassDecl cd) {
-	println("ClassDecl:\t Visiting class '"+cd.name()+"'");
+	if (debug) println("ClassDecl:\t Visiting class '"+cd.name()+"'");
 	
 	// If we use the field table here as the top scope, then we do not
 	// need to look in the field table when we resolve NameExpr. Note,
@@ -341,8 +218,6 @@ public class NameChecker extends Visitor {
 	currentScope = cd.fieldTable;
 	currentClass = cd;
 	
-	HashSet<String> seenClasses = new HashSet<String>();
-	
 	// Check that the superclass is a class.
 	if (cd.superClass() != null)  {
 	    if (cd.superClass().myDecl.isInterface())
@@ -378,7 +253,7 @@ public class NameChecker extends Visitor {
 	
 	Sequence methods = new Sequence();
 	
-	getClassHierarchyMethods(cd, methods, seenClasses);
+	getClassHierarchyMethods(cd, methods);
 	
 	checkReturnTypesOfIdenticalMethods(methods);
 	
@@ -389,7 +264,7 @@ public class NameChecker extends Visitor {
 	    // checkImplementationOfAbstractClasses(cd, new Sequence());
 	}
 	// All field names can only be used once in a class hierarchy
-	seenClasses = new HashSet<String>();
+	HashSet<String> seenClasses = new HashSet<String>();
 	checkUniqueFields(new HashSet<String>(), cd, seenClasses);
 	
 	cd.allMethods = methods; // now contains only MethodDecls
@@ -398,16 +273,15 @@ public class NameChecker extends Visitor {
 	SymbolTable st = (SymbolTable)cd.methodTable.get("<init>");
 	ConstructorDecl cod;
 	if (st != null) {
-	    for (Enumeration<Object> e = st.entries.elements() ; 
-		 e.hasMoreElements(); ) {
-		cod = (ConstructorDecl)e.nextElement();
+	    for (Object o : st.entries.values()) {
+		cod = (ConstructorDecl)o;
 		cd.constructors.append(cod);
 	    }
 	}
 	
 	// needed for rewriting the tree to replace field references
 	// represented by NameExpr.
-	println("ClassDecl:\t Performing tree Rewrite on " + cd.name());
+	if (debug) println("ClassDecl:\t Performing tree Rewrite on " + cd.name());
 	new Rewrite().go(cd, cd);
 	
 	return null;
@@ -416,7 +290,7 @@ public class NameChecker extends Visitor {
     /** CLASS TYPE */
     public Object visitClassType(ClassType ct) {
 	String n = ct.name().getname();
-	println("ClassType:\t Looking up class/interface '" + n + "' in class table.");
+	if (debug) println("ClassType:\t Looking up class/interface '" + n + "' in class table.");
 	ClassDecl cl = (ClassDecl)classTable.get(n);
 	if (cl == null) 
 	    Error.error(ct," Class '" + n + "' not found."); 
@@ -429,7 +303,7 @@ public class NameChecker extends Visitor {
 	if (fr.target() instanceof This) {
 	    String n = fr.fieldName().getname();
 	    
-	    println("FieldRef:\t Looking up field '" + n + "'.");
+	    if (debug) println("FieldRef:\t Looking up field '" + n + "'.");
 	    AST lookup = getField(n, currentClass);
 	    if (lookup == null) 
 		Error.error(fr,"Field '" + n + "' not found.");
@@ -454,7 +328,7 @@ public class NameChecker extends Visitor {
     
     /** LOCAL VARIABLE DECLARATION */
     public Object visitLocalDecl(LocalDecl ld) {
-	println("LocalDecl:\t Declaring local symbol '" + 
+	if (debug) println("LocalDecl:\t Declaring local symbol '" + 
 		ld.name() + "'.");
 	// Set var's myDecl to point to this LocalDecl so we can type check its initializer.
 	ld.var().myDecl = ld;
@@ -465,7 +339,7 @@ public class NameChecker extends Visitor {
     
     /** METHOD DECLARATION */
     public Object visitMethodDecl(MethodDecl md) {
-	println("MethodDecl:\t Creating new scope for Method '" + md.getname() + "' with signature '" +
+	if (debug) println("MethodDecl:\t Creating new scope for Method '" + md.getname() + "' with signature '" +
 		md.paramSignature() + "' (Parameters and Locals).");
 	currentScope = currentScope.newScope();
 	super.visitMethodDecl(md);
@@ -475,7 +349,7 @@ public class NameChecker extends Visitor {
     
     /** CONSTRUCTOR DECLARATION */
     public Object visitConstructorDecl(ConstructorDecl cd) {
-	println("ConstructorDecl: Creating new scope for constructor <init> with signature '" + 
+	if (debug) println("ConstructorDecl: Creating new scope for constructor <init> with signature '" + 
 		cd.paramSignature()+ "' (Parameters and Locals).");
 	currentScope = currentScope.newScope();
 	
@@ -498,7 +372,7 @@ public class NameChecker extends Visitor {
     
     /** NAME EXPRESSION */
     public Object visitNameExpr(NameExpr ne) {
-	println("NameExpr:\t Looking up symbol '" + ne.name() + "'.");
+	if (debug) println("NameExpr:\t Looking up symbol '" + ne.name() + "'.");
 	
 	// Look to see if it is in the current scope?
 	AST lookup = (AST)currentScope.get(ne.name().getname());    
@@ -531,7 +405,7 @@ public class NameChecker extends Visitor {
 	/* We will only do checking if target is null or This */
 	/** NULL or THIS */
 	if (in.target() == null || (in.target() instanceof This)) {
-	    println("Invocation:\t Looking up method '" + n + "'.");
+	    if (debug) println("Invocation:\t Looking up method '" + n + "'.");
 	    
 	    // Search through the class/interface hierarchy for a method 
 	    // with the correct name.
@@ -556,7 +430,7 @@ public class NameChecker extends Visitor {
     
     /** PARAMETER DECLARATION */
     public Object visitParamDecl(ParamDecl pd) {
-	println("ParamDecl:\t Declaring parameter '" + 
+	if (debug) println("ParamDecl:\t Declaring parameter '" + 
 		pd.name() + "'.");
 	super.visitParamDecl(pd);
 	currentScope.put(pd.name(), pd);
@@ -567,9 +441,7 @@ public class NameChecker extends Visitor {
     /** THIS */
     public Object visitThis(This th) {
 	println("This:\t Visiting This.");
-	ClassType ct = new ClassType(new Name(new Token(16,currentClass.name(),0,0,0)));
-	ct.myDecl = currentClass;
-	th.type = ct;
+	th.type = currentClass.classType();
 	return null;
     }
     
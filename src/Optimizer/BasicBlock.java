@@ -0,0 +1,70 @@
+package Optimizer;
+
+import java.util.*;
+
+import Instruction.*;
+
+/** A BasicBlock is a maximal run of instructions of a method that is only
+ * entered at the top and only left at the bottom. Blocks are built by
+ * ControlFlowGraph; a block refers to the instructions [first, last) of
+ * the code the graph was built from.
+ */
+public class BasicBlock {
+	private int id;
+	private int first;
+	private int last;
+	private Vector<Instruction> code;
+	private Vector<BasicBlock> successors = new Vector<BasicBlock>();
+	private Vector<BasicBlock> predecessors = new Vector<BasicBlock>();
+
+	BasicBlock(int id, Vector<Instruction> code, int first, int last) {
+		this.id = id;
+		this.code = code;
+		this.first = first;
+		this.last = last;
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	// getFirst: index of the first instruction of the block.
+	public int getFirst() {
+		return first;
+	}
+
+	// getLast: index of the instruction after the last instruction of the block.
+	public int getLast() {
+		return last;
+	}
+
+	public Instruction getInstruction(int index) {
+		return code.get(index);
+	}
+
+	public List<Instruction> getInstructions() {
+		return code.subList(first, last);
+	}
+
+	public Vector<BasicBlock> getSuccessors() {
+		return successors;
+	}
+
+	public Vector<BasicBlock> getPredecessors() {
+		return predecessors;
+	}
+
+	void addSuccessor(BasicBlock b) {
+		if (!successors.contains(b)) {
+			successors.add(b);
+			b.predecessors.add(this);
+		}
+	}
+
+	public String toString() {
+		String s = "B" + id + " [" + first + ".." + last + ") ->";
+		for (BasicBlock b : successors)
+			s += " B" + b.id;
+		return s;
+	}
+}
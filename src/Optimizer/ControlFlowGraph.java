@@ -0,0 +1,124 @@
+package Optimizer;
+
+import java.util.*;
+
+import Jasmin.RuntimeConstants;
+import Instruction.*;
+
+/** ControlFlowGraph splits the code of a method into basic blocks and links
+ * them together. A new block starts at every label (LabelInstruction) that
+ * follows a real instruction and after every jump (JumpInstruction), return,
+ * athrow and lookupswitch (LookupSwitchInstruction). Comments never start
+ * or end a block.
+ *
+ * The graph is built once in time linear in the size of the code, so the
+ * passes of Phase 7 should build one and share it rather than look for
+ * labels and jumps themselves. The graph does not follow changes made to
+ * the code after it was built.
+ */
+public class ControlFlowGraph {
+	private Vector<Instruction> code;
+	private Vector<BasicBlock> blocks = new Vector<BasicBlock>();
+	private Hashtable<String,BasicBlock> labels = new Hashtable<String,BasicBlock>();
+
+	public ControlFlowGraph(Vector<Instruction> code) {
+		this.code = code;
+		findBlocks();
+		linkBlocks();
+	}
+
+	public Vector<Instruction> getCode() {
+		return code;
+	}
+
+	public Vector<BasicBlock> getBlocks() {
+		return blocks;
+	}
+
+	// getEntry: returns the block control enters the method in (null if there is no code).
+	public BasicBlock getEntry() {
+		return blocks.isEmpty() ? null : blocks.get(0);
+	}
+
+	// getBlock: returns the block that starts at label 'label'.
+	public BasicBlock getBlock(String label) {
+		return labels.get(label);
+	}
+
+	// endsBlock: true if control never falls from 'inst' into the next instruction
+	//            or if 'inst' jumps somewhere.
+	public static boolean endsBlock(Instruction inst) {
+		int opCode = inst.getOpCode();
+		return inst instanceof JumpInstruction || inst instanceof LookupSwitchInstruction ||
+			RuntimeConstants.returnSet.contains(opCode) || opCode == RuntimeConstants.opc_athrow;
+	}
+
+	// fallsThrough: true if control can continue with the instruction after 'inst'.
+	public static boolean fallsThrough(Instruction inst) {
+		int opCode = inst.getOpCode();
+		return !RuntimeConstants.uncondJumpSet.contains(opCode) && !(inst instanceof LookupSwitchInstruction) &&
+			!RuntimeConstants.returnSet.contains(opCode) && opCode != RuntimeConstants.opc_athrow;
+	}
+
+	private void findBlocks() {
+		int first = 0;
+		boolean hasCode = false; // does the current block contain anything but labels and comments?
+		for (int i=0; i<code.size(); i++) {
+			Instruction inst = code.get(i);
+			if (inst instanceof LabelInstruction) {
+				if (hasCode) {
+					newBlock(first, i);
+					first = i;
+					hasCode = false;
+				}
+			} else if (inst.getOpCode() != RuntimeConstants.opc_comment) {
+				hasCode = true;
+				if (endsBlock(inst)) {
+					newBlock(first, i+1);
+					first = i+1;
+					hasCode = false;
+				}
+			}
+		}
+		if (first < code.size())
+			newBlock(first, code.size());
+	}
+
+	private void newBlock(int first, int last) {
+		BasicBlock b = new BasicBlock(blocks.size(), code, first, last);
+		blocks.add(b);
+		for (int i=first; i<last; i++)
+			if (code.get(i) instanceof LabelInstruction)
+				labels.put(((LabelInstruction)code.get(i)).getLabel(), b);
+	}
+
+	private void linkBlocks() {
+		for (BasicBlock b : blocks) {
+			Instruction inst = lastInstruction(b);
+			if (inst instanceof JumpInstruction)
+				b.addSuccessor(labels.get(((JumpInstruction)inst).getLabel()));
+			else if (inst instanceof LookupSwitchInstruction)
+				for (String label : ((LookupSwitchInstruction)inst).getTargetLabels())
+					b.addSuccessor(labels.get(label));
+			if ((inst == null || fallsThrough(inst)) && b.getId()+1 < blocks.size())
+				b.addSuccessor(blocks.get(b.getId()+1));
+		}
+	}
+
+	// lastInstruction: returns the last instruction of 'b' that is not a comment or a label, or null.
+	public static Instruction lastInstruction(BasicBlock b) {
+		for (int i=b.getLast()-1; i>=b.getFirst(); i--) {
+			Instruction inst = b.getInstruction(i);
+			if (!(inst instanceof LabelInstruction) && inst.getOpCode() != RuntimeConstants.opc_comment)
+				return inst;
+		}
+		return null;
+	}
+
+	public String toString() {
+		String s = "";
+		for (BasicBlock b : blocks)
+			s += "      " + b + "\n";
+		return s;
+	}
+}
@@ -0,0 +1,89 @@
+package Optimizer;
+
+import java.util.*;
+
+/** DataFlowAnalysis is the base class of the analyses run by the passes of
+ * Phase 7 (liveness, reaching definitions, constant propagation, ...). A
+ * subclass describes its lattice by implementing the methods below, and
+ * solve() computes the value at the start ('in') and end ('out') of every
+ * block of a ControlFlowGraph using a worklist.
+ *
+ * For a forward analysis in(b) is the meet of out(p) for all predecessors
+ * p of b and out(b) = transfer(b, in(b)). A backward analysis flows the
+ * other way: out(b) is the meet of in(s) for all successors s of b and
+ * in(b) = transfer(b, out(b)).
+ *
+ * Values are compared with equals() and must not be changed by meet() or
+ * transfer(), which must return new values.
+ */
+public abstract class DataFlowAnalysis<T> {
+	private boolean forward;
+	private Hashtable<BasicBlock,T> in = new Hashtable<BasicBlock,T>();
+	private Hashtable<BasicBlock,T> out = new Hashtable<BasicBlock,T>();
+
+	protected DataFlowAnalysis(boolean forward) {
+		this.forward = forward;
+	}
+
+	// top: the initial value of every block (the identity of meet).
+	protected abstract T top();
+
+	// boundary: the value flowing into the entry block (forward) or out of the exit blocks (backward).
+	protected abstract T boundary();
+
+	protected abstract T meet(T a, T b);
+
+	protected abstract T transfer(BasicBlock block, T value);
+
+	public T getIn(BasicBlock b) {
+		return in.get(b);
+	}
+
+	public T getOut(BasicBlock b) {
+		return out.get(b);
+	}
+
+	public void solve(ControlFlowGraph cfg) {
+		Vector<BasicBlock> blocks = cfg.getBlocks();
+		LinkedList<BasicBlock> work = new LinkedList<BasicBlock>();
+		HashSet<BasicBlock> queued = new HashSet<BasicBlock>();
+		for (BasicBlock b : blocks) {
+			in.put(b, top());
+			out.put(b, top());
+		}
+		// Visiting the blocks in code order (reverse for backward problems) makes most analyses
+		// converge in a couple of rounds.
+		for (int i=0; i<blocks.size(); i++) {
+			BasicBlock b = blocks.get(forward ? i : blocks.size()-1-i);
+			work.add(b);
+			queued.add(b);
+		}
+
+		while (!work.isEmpty()) {
+			BasicBlock b = work.removeFirst();
+			queued.remove(b);
+			Vector<BasicBlock> sources = forward ? b.getPredecessors() : b.getSuccessors();
+			T value = top();
+			if (sources.isEmpty() || (forward && b == cfg.getEntry()))
+				value = meet(value, boundary());
+			for (BasicBlock s : sources)
+				value = meet(value, forward ? out.get(s) : in.get(s));
+			T result = transfer(b, value);
+
+			if (forward)
+				in.put(b, value);
+			else
+				out.put(b, value);
+			T old = forward ? out.get(b) : in.get(b);
+			if (!result.equals(old)) {
+				if (forward)
+					out.put(b, result);
+				else
+					in.put(b, result);
+				for (BasicBlock t : forward ? b.getSuccessors() : b.getPredecessors())
+					if (queued.add(t))
+						work.add(t);
+			}
+		}
+	}
+}
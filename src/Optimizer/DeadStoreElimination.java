@@ -0,0 +1,51 @@
+package Optimizer;
+
+import java.util.*;
+
+import Jasmin.RuntimeConstants;
+import Instruction.*;
+
+/** DeadStoreElimination uses Liveness to find stores to locals that are
+ * never read again. Such a store is replaced by a pop (pop2 for longs
+ * and doubles) and a dead iinc is removed.
+ */
+public class DeadStoreElimination {
+	private boolean debug;
+
+	public DeadStoreElimination(boolean debug) {
+		this.debug = debug;
+	}
+
+	public Vector<Instruction> optimize(Vector<Instruction> code) {
+		ControlFlowGraph cfg = new ControlFlowGraph(code);
+		Liveness liveness = new Liveness();
+		liveness.solve(cfg);
+
+		Vector<Instruction> result = new Vector<Instruction>(code);
+		boolean changed = false;
+		for (BasicBlock b : cfg.getBlocks()) {
+			HashSet<Integer> live = new HashSet<Integer>(liveness.getOut(b));
+			for (int i=b.getLast()-1; i>=b.getFirst(); i--) {
+				Instruction inst = code.get(i);
+				int stored = Liveness.storedLocal(inst);
+				if (stored >= 0 && !live.contains(stored)) {
+					String name = inst.getName();
+					boolean wide = name.startsWith("l") || name.startsWith("d");
+					if (debug)
+						System.out.println("   Replacing dead '" + inst + "'");
+					result.set(i, new Instruction(wide ? RuntimeConstants.opc_pop2 : RuntimeConstants.opc_pop));
+					changed = true;
+				} else if (inst.getOpCode() == RuntimeConstants.opc_iinc && !live.contains(Liveness.loadedLocal(inst))) {
+					if (debug)
+						System.out.println("   Removing dead '" + inst + "'");
+					result.set(i, null);
+					changed = true;
+				} else
+					Liveness.update(inst, live);
+			}
+		}
+		if (changed)
+			result.removeAll(Collections.singleton((Instruction)null));
+		return result;
+	}
+}
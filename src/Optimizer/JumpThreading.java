@@ -0,0 +1,202 @@
+package Optimizer;
+
+import java.util.*;
+
+import Jasmin.RuntimeConstants;
+import Instruction.*;
+
+/** JumpThreading cleans up the branch structure produced by the code
+ * generator (visitIfStat, visitWhileStat, visitForStat, ...). The
+ * following rewrites are repeated until nothing changes:
+ *
+ * 1) A jump to a label that is immediately followed by 'goto L2' is
+ *    retargeted to L2 (following the whole chain).
+ * 2) 'ifXX L1; goto L2; L1:' becomes 'if!XX L2; L1:'.
+ * 3) A 'goto' to the instruction that follows it anyway is removed.
+ * 4) Instructions that follow a goto, a return or a lookupswitch and that
+ *    are not preceded by a label are unreachable and are removed.
+ * 5) Labels that are not referenced by any jump or switch are removed.
+ *
+ * Comments are never removed and are skipped when looking for patterns.
+ */
+public class JumpThreading {
+	private boolean debug;
+
+	public JumpThreading(boolean debug) {
+		this.debug = debug;
+	}
+
+	public Vector<Instruction> optimize(Vector<Instruction> code) {
+		ArrayList<Instruction> insts = new ArrayList<Instruction>(code);
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			changed = threadJumps(insts) || changed;
+			changed = invertBranches(insts) || changed;
+			changed = removeJumpsToNext(insts) || changed;
+			changed = removeUnreachable(insts) || changed;
+			changed = removeUnusedLabels(insts) || changed;
+		}
+		return new Vector<Instruction>(insts);
+	}
+
+	// isComment: true if 'inst' does not generate any code at all.
+	private static boolean isComment(Instruction inst) {
+		return inst.getOpCode() == RuntimeConstants.opc_comment;
+	}
+
+	private static boolean isLabel(Instruction inst) {
+		return inst instanceof LabelInstruction;
+	}
+
+	private static boolean isGoto(Instruction inst) {
+		return inst instanceof JumpInstruction && inst.getOpCode() == RuntimeConstants.opc_goto;
+	}
+
+	// nextReal: returns the index of the first instruction from 'index' and on that is not a
+	//           comment (or a label if skipLabels is true). Returns insts.size() if there is none.
+	private static int nextReal(ArrayList<Instruction> insts, int index, boolean skipLabels) {
+		while (index < insts.size() &&
+		       (isComment(insts.get(index)) || (skipLabels && isLabel(insts.get(index)))))
+			index++;
+		return index;
+	}
+
+	// labelsAt: returns the set of labels that mark the same position as index 'index', i.e.,
+	//           all the labels found (between comments) from 'index' until the next real instruction.
+	private static HashSet<String> labelsAt(ArrayList<Instruction> insts, int index) {
+		HashSet<String> labels = new HashSet<String>();
+		while (index < insts.size() && (isComment(insts.get(index)) || isLabel(insts.get(index)))) {
+			if (isLabel(insts.get(index)))
+				labels.add(((LabelInstruction)insts.get(index)).getLabel());
+			index++;
+		}
+		return labels;
+	}
+
+	private static Hashtable<String,Integer> labelIndices(ArrayList<Instruction> insts) {
+		Hashtable<String,Integer> labels = new Hashtable<String,Integer>();
+		for (int i=0; i<insts.size(); i++)
+			if (isLabel(insts.get(i)))
+				labels.put(((LabelInstruction)insts.get(i)).getLabel(), i);
+		return labels;
+	}
+
+	// finalTarget: follows a chain of 'L1: goto L2', 'L2: goto L3', ... and returns the last label.
+	private static String finalTarget(ArrayList<Instruction> insts, Hashtable<String,Integer> labels, String label) {
+		HashSet<String> seen = new HashSet<String>();
+		while (!seen.contains(label) && labels.get(label) != null) {
+			seen.add(label);
+			int index = nextReal(insts, labels.get(label), true);
+			if (index >= insts.size() || !isGoto(insts.get(index)))
+				break;
+			label = ((JumpInstruction)insts.get(index)).getLabel();
+		}
+		return label;
+	}
+
+	// 1) retarget jumps whose target is another goto.
+	private boolean threadJumps(ArrayList<Instruction> insts) {
+		boolean changed = false;
+		Hashtable<String,Integer> labels = labelIndices(insts);
+		for (int i=0; i<insts.size(); i++) {
+			if (!(insts.get(i) instanceof JumpInstruction))
+				continue;
+			JumpInstruction jump = (JumpInstruction)insts.get(i);
+			String target = finalTarget(insts, labels, jump.getLabel());
+			if (!target.equals(jump.getLabel())) {
+				if (debug)
+					System.out.println("   Threading '" + jump + "' to " + target);
+				insts.set(i, new JumpInstruction(jump.getOpCode(), target));
+				changed = true;
+			}
+		}
+		return changed;
+	}
+
+	// 2) ifXX L1; goto L2; L1:  ==>  if!XX L2; L1:
+	private boolean invertBranches(ArrayList<Instruction> insts) {
+		boolean changed = false;
+		for (int i=0; i<insts.size(); i++) {
+			Instruction inst = insts.get(i);
+			if (!(inst instanceof JumpInstruction) || !RuntimeConstants.condJumpSet.contains(inst.getOpCode()))
+				continue;
+			int g = nextReal(insts, i+1, false);
+			if (g >= insts.size() || !isGoto(insts.get(g)))
+				continue;
+			JumpInstruction cond = (JumpInstruction)inst;
+			JumpInstruction jump = (JumpInstruction)insts.get(g);
+			if (!labelsAt(insts, g+1).contains(cond.getLabel()))
+				continue;
+			if (debug)
+				System.out.println("   Inverting '" + cond + "' over '" + jump + "'");
+			insts.set(i, new JumpInstruction(RuntimeConstants.negateJump(cond.getOpCode()), jump.getLabel()));
+			insts.remove(g);
+			changed = true;
+		}
+		return changed;
+	}
+
+	// 3) goto L; L:  ==>  L:
+	private boolean removeJumpsToNext(ArrayList<Instruction> insts) {
+		boolean changed = false;
+		for (int i=0; i<insts.size(); i++) {
+			if (!isGoto(insts.get(i)))
+				continue;
+			JumpInstruction jump = (JumpInstruction)insts.get(i);
+			if (labelsAt(insts, i+1).contains(jump.getLabel())) {
+				if (debug)
+					System.out.println("   Removing '" + jump + "' (jump to next instruction)");
+				insts.remove(i);
+				i--;
+				changed = true;
+			}
+		}
+		return changed;
+	}
+
+	// 4) remove code that cannot be reached because control never falls into it.
+	private boolean removeUnreachable(ArrayList<Instruction> insts) {
+		boolean changed = false;
+		for (int i=0; i<insts.size(); i++) {
+			int opCode = insts.get(i).getOpCode();
+			if (!RuntimeConstants.uncondJumpSet.contains(opCode) &&
+			    !RuntimeConstants.returnSet.contains(opCode) &&
+			    opCode != RuntimeConstants.opc_lookupswitch &&
+			    opCode != RuntimeConstants.opc_athrow)
+				continue;
+			int j = i+1;
+			while (j < insts.size() && !isLabel(insts.get(j))) {
+				if (isComment(insts.get(j)))
+					j++;
+				else {
+					if (debug)
+						System.out.println("   Removing unreachable '" + insts.get(j) + "'");
+					insts.remove(j);
+					changed = true;
+				}
+			}
+		}
+		return changed;
+	}
+
+	// 5) remove labels nobody jumps to.
+	private boolean removeUnusedLabels(ArrayList<Instruction> insts) {
+		HashSet<String> used = new HashSet<String>();
+		for (Instruction inst : insts) {
+			if (inst instanceof JumpInstruction)
+				used.add(((JumpInstruction)inst).getLabel());
+			else if (inst instanceof LookupSwitchInstruction)
+				used.addAll(((LookupSwitchInstruction)inst).getTargetLabels());
+		}
+		boolean changed = false;
+		for (int i=0; i<insts.size(); i++) {
+			if (isLabel(insts.get(i)) && !used.contains(((LabelInstruction)insts.get(i)).getLabel())) {
+				insts.remove(i);
+				i--;
+				changed = true;
+			}
+		}
+		return changed;
+	}
+}
@@ -0,0 +1,71 @@
+package Optimizer;
+
+import java.util.*;
+
+import Jasmin.RuntimeConstants;
+import Instruction.*;
+
+/** Liveness computes which local variables (by address) may still be read
+ * later on at the start and end of every basic block. It is a backward
+ * analysis with set union as meet.
+ */
+public class Liveness extends DataFlowAnalysis<HashSet<Integer>> {
+
+	public Liveness() {
+		super(false);
+	}
+
+	protected HashSet<Integer> top() {
+		return new HashSet<Integer>();
+	}
+
+	protected HashSet<Integer> boundary() {
+		return new HashSet<Integer>();
+	}
+
+	protected HashSet<Integer> meet(HashSet<Integer> a, HashSet<Integer> b) {
+		HashSet<Integer> result = new HashSet<Integer>(a);
+		result.addAll(b);
+		return result;
+	}
+
+	protected HashSet<Integer> transfer(BasicBlock block, HashSet<Integer> live) {
+		HashSet<Integer> result = new HashSet<Integer>(live);
+		for (int i=block.getLast()-1; i>=block.getFirst(); i--)
+			update(block.getInstruction(i), result);
+		return result;
+	}
+
+	// update: changes the set of live locals after 'inst' into the set before it.
+	public static void update(Instruction inst, HashSet<Integer> live) {
+		int stored = storedLocal(inst);
+		if (stored >= 0)
+			live.remove(stored);
+		int loaded = loadedLocal(inst);
+		if (loaded >= 0)
+			live.add(loaded);
+	}
+
+	// loadedLocal: returns the address of the local read by 'inst' (xload, xload_n or iinc), or -1.
+	public static int loadedLocal(Instruction inst) {
+		int opCode = inst.getOpCode();
+		if (opCode >= RuntimeConstants.opc_iload && opCode <= RuntimeConstants.opc_aload)
+			return inst.getOperand();
+		if (opCode >= RuntimeConstants.opc_iload_0 && opCode <= RuntimeConstants.opc_aload_3)
+			return (opCode - RuntimeConstants.opc_iload_0) % 4;
+		if (opCode == RuntimeConstants.opc_iinc)
+			return ((IincInstruction)inst).getAddress();
+		return -1;
+	}
+
+	// storedLocal: returns the address of the local written by 'inst' (xstore or xstore_n), or -1.
+	//              iinc is not counted as it also reads the local.
+	public static int storedLocal(Instruction inst) {
+		int opCode = inst.getOpCode();
+		if (opCode >= RuntimeConstants.opc_istore && opCode <= RuntimeConstants.opc_astore)
+			return inst.getOperand();
+		if (opCode >= RuntimeConstants.opc_istore_0 && opCode <= RuntimeConstants.opc_astore_3)
+			return (opCode - RuntimeConstants.opc_istore_0) % 4;
+		return -1;
+	}
+}
@@ -0,0 +1,52 @@
+package Optimizer;
+
+import java.util.*;
+
+import AST.*;
+import Jasmin.*;
+import Instruction.*;
+
+/** The Optimizer class runs the passes of Phase 7 over the instructions
+ * generated for each method in Phase 6. Passes that need control flow
+ * build a ControlFlowGraph and solve a DataFlowAnalysis on it. The result
+ * of the passes is stored as the optimized code of the method (see
+ * ClassBodyDecl.setOptimizedCode()); the unoptimized code is left untouched.
+ *
+ */
+public class Optimizer {
+	private boolean debug;
+
+	public void optimize(Compilation program, boolean debug) {
+		this.debug = debug;
+		if (debug)
+			System.out.println("---------------------------------------------------------");
+
+		for (int i=0; i<program.types().nchildren; i++) {
+			ClassDecl cd = (ClassDecl)program.types().children[i];
+			// classes we did not generate code for have no class file.
+			if (!cd.generateCode() || cd.classFile == null)
+				continue;
+			if (debug)
+				System.out.println("** Optimizing class '" + cd.name() + "'");
+
+			Iterator<Method> it = cd.classFile.getMethodsIterator();
+			while (it.hasNext()) {
+				ClassBodyDecl method = it.next().getMethod();
+				method.setOptimizedCode(optimize(method, method.getOptmizedCode()));
+			}
+		}
+
+		if (debug)
+			System.out.println("---------------------------------------------------------");
+	}
+
+	// optimize: runs all the passes on the code of one method and returns the new code.
+	private Vector<Instruction> optimize(ClassBodyDecl method, Vector<Instruction> code) {
+		int before = code.size();
+		code = new JumpThreading(debug).optimize(code);
+		code = new DeadStoreElimination(debug).optimize(code);
+		if (debug)
+			System.out.println("   " + method.getname() + ": " + before + " -> " + code.size() + " instructions.");
+		return code;
+	}
+}
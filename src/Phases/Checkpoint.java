@@ -0,0 +1,103 @@
+package Phases;
+
+import java.io.*;
+import java.util.*;
+
+import AST.*;
+import Parser.*;
+import Utilities.BuildState;
+import Utilities.Log;
+import Utilities.Settings;
+
+/** A checkpoint (-checkpoint) is the program as it is after Phase 5: parsed,
+ * name checked, type checked and modifier checked. It is written to the file
+ * 'espresso.ckpt' with Java serialization, together with the class table
+ * and the other static state the later phases use. The next compile of the
+ * same files starts code generation (and optimization) straight from the
+ * checkpoint instead of running phases 1 to 5 again.
+ *
+ * The checkpoint is keyed by the SHA-1 of every file that was read (the
+ * input files and the imported files) and the settings that change what
+ * the first phases produce. If any of them differ the checkpoint is not
+ * used, and it is replaced once phase 5 is done.
+ */
+public class Checkpoint {
+	public static final String FILE_NAME = "espresso.ckpt";
+	public static boolean enabled = false;
+
+	// key: describes the settings and the input files; the hashes of the files read are stored separately.
+	private static String key(Vector<parser> parsers) {
+		String s = Settings.generateEVMCode + " " + Settings.includeDir + " " + Settings.libraryDir;
+		for (parser p : parsers)
+			s += " " + p.lexer.fileName + (p.upToDate ? "(up to date)" : "");
+		return s;
+	}
+
+	private static boolean usable(Vector<parser> parsers) {
+		for (parser p : parsers)
+			if (p.lexer.fileName == null) // standard input
+				return false;
+		return true;
+	}
+
+	// load: restores the state after Phase 5 if there is a checkpoint for the files being compiled.
+	public static boolean load(Vector<parser> parsers) {
+		if (!usable(parsers) || !new File(FILE_NAME).exists())
+			return false;
+		try {
+			ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(FILE_NAME)));
+			try {
+				if (!key(parsers).equals(in.readObject()))
+					return false;
+				Hashtable<String,String> hashes = hashes(in.readObject());
+				for (String fileName : hashes.keySet())
+					if (!new File(fileName).exists() || !hashes.get(fileName).equals(BuildState.hash(fileName)))
+						return false;
+				Phase.root = (AST)in.readObject();
+				Phase.classTable = (Utilities.SymbolTable)in.readObject();
+				Phase2.Objects_myDecl = (ClassDecl)in.readObject();
+				ClassDecl.interSectionTypeCounter = in.readInt();
+			} finally {
+				in.close();
+			}
+		} catch (Exception e) {
+			// an unreadable or old checkpoint is simply not used.
+			return false;
+		}
+		Log.info("Starting from checkpoint " + FILE_NAME);
+		return true;
+	}
+
+	// hashes: the file name -> SHA-1 table stored in the checkpoint by save().
+	@SuppressWarnings("unchecked")
+	private static Hashtable<String,String> hashes(Object o) {
+		return (Hashtable<String,String>)o;
+	}
+
+	// save: writes the state after Phase 5 for the files just compiled.
+	public static void save(Vector<parser> parsers) {
+		if (!usable(parsers))
+			return;
+		try {
+			Hashtable<String,String> hashes = new Hashtable<String,String>();
+			for (parser p : parsers)
+				hashes.put(p.lexer.fileName, BuildState.hash(p.lexer.fileName));
+			for (String fileName : parser.importFiles)
+				hashes.put(fileName, BuildState.hash(fileName));
+			ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(FILE_NAME)));
+			try {
+				out.writeObject(key(parsers));
+				out.writeObject(hashes);
+				out.writeObject(Phase.root);
+				out.writeObject(Phase.classTable);
+				out.writeObject(Phase2.Objects_myDecl);
+				out.writeInt(ClassDecl.interSectionTypeCounter);
+			} finally {
+				out.close();
+			}
+		} catch (IOException e) {
+			System.out.println("Could not write checkpoint " + FILE_NAME + ": " + e);
+			new File(FILE_NAME).delete();
+		}
+	}
+}
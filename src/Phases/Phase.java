@@ -1,11 +1,38 @@
 package Phases;
 
 import AST.*;
+import Parser.parser;
+import Utilities.Error;
 import Utilities.SymbolTable;
+import Utilities.Visitor;
+import java.util.Vector;
 
 public abstract class Phase {
     public static int phase; // the phase the compiler was invoked to run
     public static AST root;
     public static SymbolTable classTable = new SymbolTable();
     public abstract void execute(Object arg, int debuglevel, int runLevel) ;	
+
+    // startClass: errors found from now on are in class 'cd', so they are reported against the file
+    //             it came from. Imported classes have no file of their own and keep the current one.
+    static void startClass(ClassDecl cd) {
+	if (cd.sourceFile != null)
+	    Error.setFileName(cd.sourceFile);
+    }
+
+    // visitClasses: visits the classes of the program one at a time with 'v' (see startClass()).
+    static void visitClasses(Visitor v) {
+	Sequence types = ((Compilation)root).types();
+	for (int i=0; i<types.nchildren; i++) {
+	    ClassDecl cd = (ClassDecl)types.children[i];
+	    startClass(cd);
+	    cd.visit(v);
+	}
+    }
+
+    // parsers: the argument of execute(), a parser for each input file (see Espressoc).
+    @SuppressWarnings("unchecked")
+    static Vector<parser> parsers(Object arg) {
+	return (Vector<parser>)arg;
+    }
 }
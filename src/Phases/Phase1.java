@@ -11,8 +11,29 @@ public class Phase1 extends Phase {
 			Scanner.debug = true; //((parser)arg).lexer.debug = true;
 		try {
 			if ((runLevel & 0x0001) == 0x0001) {
-				java_cup.runtime.Symbol r = ((parser)arg).parse();
-				root = (AST)r.value;
+				// arg holds a parser for each input file. The classes of all the files (and
+				// the classes they import, which are only parsed once) go into one Compilation.
+				// Its sequences are trimmed in Phase 3 (see CompactSequences).
+				for (parser p : parsers(arg)) {
+					java_cup.runtime.Symbol r = p.parse();
+					Compilation c = (Compilation)r.value;
+					if (c == null)
+						continue;
+					Sequence types = c.types();
+					for (int i=0; i<types.nchildren; i++) {
+						ClassDecl cd = (ClassDecl)types.children[i];
+						if (cd.generateCode()) {
+							cd.sourceFile = p.lexer.fileName;
+							// an up to date file keeps the code from the last (incremental) compile.
+							if (p.upToDate)
+								cd.doNotGenerateCode();
+						}
+					}
+					if (root == null)
+						root = c;
+					else
+						((Compilation)root).types().merge(types);
+				}
 			}
 		} catch (java.io.IOException e) {
 			System.out.println("An I/O error occured while scanning :");
@@ -2,6 +2,8 @@ package Phases;
 
 import AST.*;
 import NameChecker.*;
+import Utilities.CompactSequences;
+import Utilities.FusedVisitor;
 
 public class Phase3 extends Phase2 {
 	public void execute(Object arg, int debugLevel, int runLevel) {
@@ -11,7 +13,7 @@ public class Phase3 extends Phase2 {
 		if (traceNameChecker) 
 			System.out.println("** Defining Classes, Members and Fields. **");
 		if ((runLevel & 0x0004) == 0x0004) {
-			((Compilation)root).visit(new ClassAndMemberFinder(Phase.classTable,traceNameChecker));
+			visitClasses(new ClassAndMemberFinder(Phase.classTable,traceNameChecker));
 		}
 		if (traceNameChecker) 
 			System.out.println("** Defining Classes, Members and Fields. ** DONE!");
@@ -21,8 +23,19 @@ public class Phase3 extends Phase2 {
 			System.out.println("** Resolving symbols and defining locals. **");
 		}
 		if ((runLevel & 0x0004) == 0x0004) {
-			((Compilation)root).visit(new MyDeclSet(Phase.classTable, traceNameChecker));   
-			((Compilation)root).visit(new NameChecker(Phase.classTable,traceNameChecker));
+			// MyDeclSet and the trimming of the sequences left by the parser only look at one
+			// node at a time, so they share a walk. The trees of phases 1 and 2 and the one
+			// ClassAndMemberFinder walks are not trimmed yet; they are only read.
+			FusedVisitor walk = new FusedVisitor()
+				.add(new MyDeclSet(Phase.classTable, traceNameChecker))
+				.add(new CompactSequences());
+			Sequence types = ((Compilation)root).types();
+			for (int i=0; i<types.nchildren; i++) {
+				startClass((ClassDecl)types.children[i]);
+				walk.visit(types.children[i]);
+			}
+			types.trim(); // the walks start at the classes
+			visitClasses(new NameChecker(Phase.classTable,traceNameChecker));
 		}
 		if (traceNameChecker) {
 			System.out.println("** Resolving symbols and defining locals. ** DONE!");
@@ -11,7 +11,7 @@ public class Phase4 extends Phase3 {
 		if (traceTypeChecker)
 			System.out.println("** Checking types **");
 		if ((runLevel & 0x0008) == 0x0008) {
-			root.visit(new TypeChecker(classTable,traceTypeChecker));
+			visitClasses(new TypeChecker(classTable,traceTypeChecker));
 		}
 		if (traceTypeChecker) {
 			System.out.println("** Checking types ** DONE!");
@@ -6,12 +6,17 @@ import Utilities.*;
 public class Phase5 extends Phase4 {
 	public void execute(Object arg, int debugLevel, int runLevel) {
 		boolean traceModifierChecker = ((debugLevel & 0x0010) == 0x0010);
+		// With -checkpoint phases 1-5 are skipped if their result was saved for the same files.
+		if (Checkpoint.enabled && (runLevel & 0x0010) == 0x0010 && Checkpoint.load(parsers(arg)))
+			return;
 		super.execute(arg, debugLevel, runLevel);
 
 		if (traceModifierChecker)
 			System.out.println("** Checking Modifiers **");
 		if ((runLevel & 0x0010) == 0x0010) {
-		    root.visit(new ModifierChecker(classTable, traceModifierChecker));
+		    visitClasses(new ModifierChecker(classTable, traceModifierChecker));
+		    if (Checkpoint.enabled)
+			Checkpoint.save(parsers(arg));
 		}
 		if (traceModifierChecker) {
 			System.out.println("** Checking Modifiers ** DONE!");
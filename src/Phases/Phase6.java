@@ -13,7 +13,7 @@ public class Phase6 extends Phase5 {
 	    if (!Utilities.Settings.generateEVMCode)
 		((Compilation)root).visit(new Java());
 	    
-	    new CodeGenerator().generate((Compilation)root, traceCodeGenerator);	
+	    new CodeGenerator().generate((Compilation)root, traceCodeGenerator, (runLevel & 0x0040) == 0x0040);
 	}       	
     }
 }
\ No newline at end of file
@@ -1,6 +1,15 @@
 package Phases;
 
+import AST.*;
+import Optimizer.*;
+
 public class Phase7 extends Phase6 {
     public void execute(Object arg, int debugLevel, int runLevel) {
-    }       	
+
+	boolean traceOptimizer = ((debugLevel & 0x0040) == 0x0040);
+	super.execute(arg, debugLevel, runLevel);
+	if ((runLevel & 0x0040) == 0x0040) {
+	    new Optimizer().optimize((Compilation)root, traceOptimizer);
+	}
+    }
 }
@@ -0,0 +1,91 @@
+package TypeChecker;
+
+import java.util.*;
+
+import AST.*;
+
+/** MethodIndex holds, for one sequence of candidate methods or constructors
+ * (the allMethods or constructors sequence of a class), the candidates
+ * grouped by name and number of parameters, and the result of every
+ * overload resolution done on it so far, keyed by the name and the types of
+ * the actual parameters.
+ *
+ * The index of a sequence is built the first time findMethod() is called
+ * with it, which is after NameChecker has filled allMethods, and it is
+ * shared by all call sites in the compilation: a call to a method with the
+ * same argument types as an earlier call does not resolve the overloads
+ * again.
+ */
+class MethodIndex {
+	private static IdentityHashMap<Sequence,MethodIndex> indexes = new IdentityHashMap<Sequence,MethodIndex>();
+	private static final ClassBodyDecl[] none = new ClassBodyDecl[0];
+
+	// name/number of parameters -> the candidates in the order of the sequence
+	private HashMap<String,ClassBodyDecl[]> candidates = new HashMap<String,ClassBodyDecl[]>();
+	// key() -> the method or constructor found (null if none or ambiguous)
+	private HashMap<String,ClassBodyDecl> resolved = new HashMap<String,ClassBodyDecl>();
+
+	// get: the index of a sequence of candidates; it is built the first time it is asked for.
+	static MethodIndex get(Sequence candidateMethods) {
+		MethodIndex index = indexes.get(candidateMethods);
+		if (index == null) {
+			index = new MethodIndex(candidateMethods);
+			indexes.put(candidateMethods, index);
+		}
+		return index;
+	}
+
+	private MethodIndex(Sequence candidateMethods) {
+		HashMap<String,ArrayList<ClassBodyDecl>> lists = new HashMap<String,ArrayList<ClassBodyDecl>>();
+		for (int i=0; i<candidateMethods.nchildren; i++) {
+			ClassBodyDecl cbd = (ClassBodyDecl)candidateMethods.children[i];
+			Sequence params;
+			if (cbd instanceof MethodDecl)
+				params = ((MethodDecl)cbd).params();
+			else if (cbd instanceof ConstructorDecl)
+				params = ((ConstructorDecl)cbd).params();
+			else
+				continue; // static initializers are never called.
+			String key = cbd.getname() + "/" + params.nchildren;
+			ArrayList<ClassBodyDecl> list = lists.get(key);
+			if (list == null) {
+				list = new ArrayList<ClassBodyDecl>();
+				lists.put(key, list);
+			}
+			list.add(cbd);
+		}
+		for (Map.Entry<String,ArrayList<ClassBodyDecl>> e : lists.entrySet())
+			candidates.put(e.getKey(), e.getValue().toArray(new ClassBodyDecl[e.getValue().size()]));
+	}
+
+	// candidates: the methods or constructors called 'name' that take 'count' parameters.
+	ClassBodyDecl[] candidates(String name, int count) {
+		ClassBodyDecl[] cds = candidates.get(name + "/" + count);
+		return cds == null ? none : cds;
+	}
+
+	// key: the name and the types of the actual parameters of a call.
+	static String key(String name, Sequence actualParams) {
+		StringBuilder s = new StringBuilder(name);
+		s.append('(');
+		for (int i=0; i<actualParams.nchildren; i++) {
+			AST param = actualParams.children[i];
+			Type type = (param instanceof ParamDecl) ? ((ParamDecl)param).type() : ((Expression)param).type;
+			// the null type has an empty signature, so every type is followed by a separator.
+			s.append(type.signature()).append(' ');
+		}
+		return s.append(')').toString();
+	}
+
+	boolean isResolved(String key) {
+		return resolved.containsKey(key);
+	}
+
+	ClassBodyDecl resolved(String key) {
+		return resolved.get(key);
+	}
+
+	void remember(String key, ClassBodyDecl cbd) {
+		resolved.put(key, cbd);
+	}
+}
@@ -27,104 +27,93 @@ public class TypeChecker extends Visitor {
     public static ClassBodyDecl findMethod(Sequence candidateMethods, String name, Sequence actualParams, 
 					   boolean lookingForMethods) {
 	
-	if (lookingForMethods) {
-	    println("+------------- findMethod (Method) ------------");
-	    println("| Looking for method: " + name);
-	} else {
-	    println("+---------- findMethod (Constructor) ----------");
-	    println("| Looking for constructor: " + name);
+	if (debug) {
+	    if (lookingForMethods) {
+		println("+------------- findMethod (Method) ------------");
+		println("| Looking for method: " + name);
+	    } else {
+		println("+---------- findMethod (Constructor) ----------");
+		println("| Looking for constructor: " + name);
+	    }
+	    println("| With parameters:");
+	    for (int i=0; i<actualParams.nchildren; i++){
+		println("|   " + i + ". " + ((actualParams.children[i] instanceof ParamDecl)?(((ParamDecl)actualParams.children[i]).type()):((Expression)actualParams.children[i]).type));
+	    }
 	}
-	println("| With parameters:");
-	for (int i=0; i<actualParams.nchildren; i++){
-	    println("|   " + i + ". " + ((actualParams.children[i] instanceof ParamDecl)?(((ParamDecl)actualParams.children[i]).type()):((Expression)actualParams.children[i]).type));
+	// Calls with the same name and argument types resolve to the same method,
+	// so the result is remembered per candidate sequence.
+	MethodIndex index = MethodIndex.get(candidateMethods);
+	String key = MethodIndex.key(name, actualParams);
+	if (index.isResolved(key)) {
+	    println("| Already resolved for these parameter types");
+	    println("+------------- End of findMethod --------------");
+	    return index.resolved(key);
 	}
+	ClassBodyDecl result = resolveMethod(index.candidates(name, actualParams.nchildren), name, actualParams, lookingForMethods);
+	index.remember(key, result);
+	return result;
+    }
+
+    // resolveMethod: picks the most specific of the methods or constructors with the right name and number of parameters.
+    private static ClassBodyDecl resolveMethod(ClassBodyDecl[] sameArity, String name, Sequence actualParams,
+					       boolean lookingForMethods) {
 	// The number of actual parameters in the invocation.
 	int count = 0;
 	
 	// Make an array big enough to hold all the methods if needed
-	ClassBodyDecl cds[] = new ClassBodyDecl[candidateMethods.nchildren];
-	
-	// Initialize the array to point to null
-	for(int i=0;i<candidateMethods.nchildren;i++) 
-	    cds[i] = null;
+	ClassBodyDecl cds[] = new ClassBodyDecl[sameArity.length];
 	
 	Sequence args = actualParams;
 	Sequence params;
 	
-	// Insert all the methods from the symbol table that:
-	// 1.) has the right number of parameters
-	// 2.) each formal parameter can be assigned its corresponding
-	//     actual parameter.
+	// Insert all the methods with the right name and number of parameters
+	// where each formal parameter can be assigned its corresponding
+	// actual parameter.
 	if (lookingForMethods)
 	    println("| Finding methods with the right number of parameters and types");
 	else
 	    println("| Finding constructors with the right number of parameters and types");
-	for (int cnt=0; cnt<candidateMethods.nchildren; cnt++) {
-	    ClassBodyDecl cbd = (ClassBodyDecl)candidateMethods.children[cnt];
-	    
-	    // if the method doesn't have the right name, move on!
-	    if (!(cbd.getname().equals(name)))
-		continue;
+	for (int cnt=0; cnt<sameArity.length; cnt++) {
+	    ClassBodyDecl cbd = sameArity[cnt];
 	    
 	    // Fill params with the formal parameters.
 	    if (cbd instanceof ConstructorDecl) 
 		params = ((ConstructorDecl)cbd).params();
-	    else if (cbd instanceof MethodDecl)
-		params = ((MethodDecl)cbd).params();
 	    else
-		// we have a static initializer, don't do anything - just skip it.
-		continue;
+		params = ((MethodDecl)cbd).params();
 	    
-	    print("|   " + name + "(");
-	    if (cbd instanceof ConstructorDecl) 
-		print(Type.parseSignature(((ConstructorDecl)cbd).paramSignature()));
-	    else 
-		print(Type.parseSignature(((MethodDecl)cbd).paramSignature()));
-	    print(" )  ");
+	    if (debug) print("|   " + name + "(" + parsedParamSignature(cbd) + " )  ");
 	    
-	    if (args.nchildren == params.nchildren) {
-		// The have the same number of parameters
-		// now check that the formal parameters are
-		// assignmentcompatible with respect to the 
-		// types of the actual parameters.
-		// OBS this assumes the type field of the actual
-		// parameters has been set (in Expression.java),
-		// so make sure to call visit on the parameters first.
-		boolean candidate = true;
+	    // Check that the formal parameters are assignment compatible
+	    // with respect to the types of the actual parameters.
+	    // OBS this assumes the type field of the actual
+	    // parameters has been set (in Expression.java),
+	    // so make sure to call visit on the parameters first.
+	    boolean candidate = true;
+	    
+	    for (int i=0;i<args.nchildren; i++) {
+		candidate = candidate &&
+		    Type.assignmentCompatible(((ParamDecl)params.children[i]).type(),
+					      (args.children[i] instanceof Expression) ?
+					      ((Expression)args.children[i]).type :
+					      ((ParamDecl)args.children[i]).type());
 		
-		for (int i=0;i<args.nchildren; i++) {
-		    candidate = candidate &&
-			Type.assignmentCompatible(((ParamDecl)params.children[i]).type(),
-						  (args.children[i] instanceof Expression) ?
-						  ((Expression)args.children[i]).type :
-						  ((ParamDecl)args.children[i]).type());
-		    
-		    if (!candidate) {
-			println(" discarded");
-			break;
-		    }
-		}
-		if (candidate) {
-		    println(" kept");
-		    cds[count++] = cbd;
+		if (!candidate) {
+		    println(" discarded");
+		    break;
 		}
 	    }
-	    else {
-		println(" discarded");
+	    if (candidate) {
+		println(" kept");
+		cds[count++] = cbd;
 	    }
-	    
 	}
 	// now count == the number of candidates, and cds is the array with them.
 	// if there is only one just return it!
-	println("| " + count + " candidate(s) were found:");
-	for ( int i=0;i<count;i++) {
-	    ClassBodyDecl cbd = cds[i];
-	    print("|   " + name + "(");
-	    if (cbd instanceof ConstructorDecl) 
-		print(Type.parseSignature(((ConstructorDecl)cbd).paramSignature()));
-	    else 
-		print(Type.parseSignature(((MethodDecl)cbd).paramSignature()));
-	    println(" )");
+	if (debug) {
+	    println("| " + count + " candidate(s) were found:");
+	    for ( int i=0;i<count;i++)
+		println("|   " + name + "(" + parsedParamSignature(cds[i]) + " )");
 	}
 	
 	if (count == 0) {
@@ -183,17 +172,8 @@ public class TypeChecker extends Visitor {
 		}
 		if (candidate) {
 		    // x is more specialized than y, so throw y away.
-		    print("|   " + name + "(");
-		    if (y instanceof ConstructorDecl) 
-			print(Type.parseSignature(((ConstructorDecl)y).paramSignature()));
-		    else 
-			print(Type.parseSignature(((MethodDecl)y).paramSignature()));
-		    print(" ) is less specialized than " + name + "(");
-		    if (x instanceof ConstructorDecl) 
-			print(Type.parseSignature(((ConstructorDecl)x).paramSignature()));
-		    else 
-			print(Type.parseSignature(((MethodDecl)x).paramSignature()));
-		    println(" ) and is thus thrown away!");
+		    if (debug) println("|   " + name + "(" + parsedParamSignature(y) + " ) is less specialized than " +
+				       name + "(" + parsedParamSignature(x) + " ) and is thus thrown away!");
 		    
 		    cds[j] = null;
 		    noCandidates--;
@@ -219,6 +199,13 @@ public class TypeChecker extends Visitor {
 	return null;
     }
 
+    // parsedParamSignature: the parameter types of a method or constructor as they are printed in the trace.
+    private static String parsedParamSignature(ClassBodyDecl cbd) {
+	if (cbd instanceof ConstructorDecl)
+	    return ((ConstructorDecl)cbd).parsedParamSignature();
+	return ((MethodDecl)cbd).parsedParamSignature();
+    }
+
     /**
      * Given a list of candiate methods and a name of the method this method prints them all out.
      *
@@ -233,9 +220,9 @@ public class TypeChecker extends Visitor {
 
 	    if (cbd.getname().equals(name)) {
 		if (cbd instanceof MethodDecl)
-		    System.out.println("  " + name + "(" + Type.parseSignature(((MethodDecl)cbd).paramSignature()) + " )");
+		    System.out.println("  " + name + "(" + ((MethodDecl)cbd).parsedParamSignature() + " )");
 		else
-		    System.out.println("  " + cd.name() + "(" + Type.parseSignature(((ConstructorDecl)cbd).paramSignature()) + " )");
+		    System.out.println("  " + cd.name() + "(" + ((ConstructorDecl)cbd).parsedParamSignature() + " )");
 	    }
 	}
     }
@@ -275,22 +262,19 @@ public class TypeChecker extends Visitor {
      * @return Returns the type of the array access expression.
      */
     public Object visitArrayAccessExpr(ArrayAccessExpr ae) {
-	println(ae.line + ": Visiting ArrayAccessExpr");
+	if (debug) println(ae.line + ": Visiting ArrayAccessExpr");
 	//<--
 	Type t = (Type)ae.target().visit(this);
 	if (!t.isArrayType())
 	    Error.error(ae,"Array type required, but found type " + t.typeName());
 	ArrayType at = (ArrayType)t;
 		
-	if (at.getDepth() == 1)
-	    ae.type = at.baseType();
-	else
-	    ae.type = new ArrayType(at.baseType(), at.getDepth()-1);
+	ae.type = at.elementType();
 
 	Type indexType = (Type)ae.index().visit(this);
 	if (!indexType.isIntegralType()) 
 	    Error.error(ae,"Array access index must be of integral type");
-	println(ae.line + ": ArrayAccessExpr has type " + ae.type);
+	if (debug) println(ae.line + ": ArrayAccessExpr has type " + ae.type);
 	//-->
 	return ae.type;
     }
@@ -300,15 +284,15 @@ public class TypeChecker extends Visitor {
      * @return Returns itself.
      */
     public Object visitArrayType(ArrayType at) {
-	println(at.line + ": Visiting an ArrayType");
-	println(at.line + ": ArrayType type is " + at);
+	if (debug) println(at.line + ": Visiting an ArrayType");
+	if (debug) println(at.line + ": ArrayType type is " + at);
 	// An ArrayType is already a type, so nothing to do.
 	return at;
     }
 
     /** NewArray */
     public Object visitNewArray(NewArray ne) {
-	println(ne.line + ": Visiting a NewArray " + ne.dimsExpr().nchildren + " " + ne.dims().nchildren);
+	if (debug) println(ne.line + ": Visiting a NewArray " + ne.dimsExpr().nchildren + " " + ne.dims().nchildren);
 	//<--
 	//  check that each dimension is of integer type
 	for (int i=0; i<ne.dimsExpr().nchildren; i++) {
@@ -324,7 +308,7 @@ public class TypeChecker extends Visitor {
 	    ne.init().type = ne.type;
 	}	
 	//-->
-	println(ne.line + ": NewArray type is " + ne.type);
+	if (debug) println(ne.line + ": NewArray type is " + ne.type);
 	return ne.type;
     }
 
@@ -351,8 +335,7 @@ public class TypeChecker extends Visitor {
 		if (at.getDepth() == 1) 
 		    b = b && arrayAssignmentCompatible(at.baseType(), (Expression)al.elements().children[i]);
 		else { 
-		    ArrayType at1 = new ArrayType(at.baseType(), at.getDepth()-1);
-		    b = b  && arrayAssignmentCompatible(at1, (Expression)al.elements().children[i]);
+		    b = b  && arrayAssignmentCompatible(at.elementType(), (Expression)al.elements().children[i]);
 		}
 	    }
 	    return b;
@@ -379,7 +362,7 @@ public class TypeChecker extends Visitor {
     
     /** ASSIGNMENT */
     public Object visitAssignment(Assignment as) {
-	println(as.line + ": Visiting an assignment");
+	if (debug) println(as.line + ": Visiting an assignment");
 
 	// get the types of the LHS (v) and the RHS(e)
 	Type vType = (Type) as.left().visit(this);
@@ -464,14 +447,14 @@ public class TypeChecker extends Visitor {
 	}
 	// The overall type is always that of the LHS.
 	as.type = vType;
-	println(as.line + ": Assignment has type: " + as.type);
+	if (debug) println(as.line + ": Assignment has type: " + as.type);
 
 	return vType;
     }
 
     /** BINARY EXPRESSION */
     public Object visitBinaryExpr(BinaryExpr be) {
-	println(be.line + ": Visiting a Binary Expression");
+	if (debug) println(be.line + ": Visiting a Binary Expression");
 
 	//<--
 	Type lType = (Type) be.left().visit(this);
@@ -485,7 +468,7 @@ public class TypeChecker extends Visitor {
 	case BinOp.LTEQ:
 	case BinOp.GTEQ: {
 	    if (lType.isNumericType() && rType.isNumericType()) {
-		be.type = new PrimitiveType(PrimitiveType.BooleanKind); 
+		be.type = PrimitiveType.get(PrimitiveType.BooleanKind); 
 	    } else
 		Error.error(be,"Operator '" + op + "' requires operands of numeric type.");
 	    break;
@@ -503,9 +486,9 @@ public class TypeChecker extends Visitor {
 		if (lType.isVoidType())
 		    Error.error(be,"Void type cannot be used here.");
 		else 
-		    be.type = new PrimitiveType(PrimitiveType.BooleanKind);
+		    be.type = PrimitiveType.get(PrimitiveType.BooleanKind);
 	    else if (lType.isNumericType() && rType.isNumericType()) 
-		be.type = new PrimitiveType(PrimitiveType.BooleanKind);
+		be.type = PrimitiveType.get(PrimitiveType.BooleanKind);
 	    else
 		Error.error(be,"Operator '" + op + "' requires operands of the same type.");
 	    break;
@@ -546,7 +529,7 @@ public class TypeChecker extends Visitor {
 	    // 12/06/13 added + for Strings.
 	    if (be.op().kind == BinOp.PLUS &&
 		(lType.isStringType() || rType.isStringType())) {
-		be.type = new PrimitiveType(PrimitiveType.StringKind);			
+		be.type = PrimitiveType.get(PrimitiveType.StringKind);			
 	    } else if (lType.isNumericType() && rType.isNumericType()) {
 		be.type = PrimitiveType.ceilingType((PrimitiveType)lType, (PrimitiveType)rType);
 		//be.type = new PrimitiveType(PrimitiveType.ceiling(
@@ -569,7 +552,7 @@ public class TypeChecker extends Visitor {
 
 	    // Promote byte, short and char to int.
 	    if (be.type.isByteType() || be.type.isShortType() || be.type.isCharType())
-		be.type = new PrimitiveType(PrimitiveType.IntKind);
+		be.type = PrimitiveType.get(PrimitiveType.IntKind);
 	    break;
 	}
 	case BinOp.INSTANCEOF: {
@@ -587,20 +570,20 @@ public class TypeChecker extends Visitor {
 		//					classTable.get(((NameExpr)be.left()).name().getname()) != null)
 		Error.error(be,"Left hand side of instanceof cannot be a class.");
 
-	    be.type = new PrimitiveType(PrimitiveType.BooleanKind); 
+	    be.type = PrimitiveType.get(PrimitiveType.BooleanKind); 
 	    break;
 	}
 	default: Error.error(be,"Unknown operator '" + op + "'.");
 	}   
 	//-->
 
-	println(be.line + ": Binary Expression has type: " + be.type);
+	if (debug) println(be.line + ": Binary Expression has type: " + be.type);
 	return be.type;
     }
 
     /** CAST EXPRESSION */
     public Object visitCastExpr(CastExpr ce) {
-	println(ce.line + ": Visiting a cast expression");
+	if (debug) println(ce.line + ": Visiting a cast expression");
 
 	// We have two different types of casts:
 	// Numeric: any numeric type can be cast to any other numeric type.
@@ -620,7 +603,7 @@ public class TypeChecker extends Visitor {
 	// Numeric to numeric is always OK.
 	if (exprType.isNumericType() && castType.isNumericType()) {
 	    ce.type = castType;
-	    println(ce.line + ": Cast Expression has type: " + ce.type);
+	    if (debug) println(ce.line + ": Cast Expression has type: " + ce.type);
 	    return castType;
 	} 
 
@@ -634,7 +617,7 @@ public class TypeChecker extends Visitor {
 	    if (Type.isSuper((ClassType)exprType, (ClassType)castType) ||
 		Type.isSuper((ClassType)castType, (ClassType)exprType)) {
 		ce.type = castType;
-		println(ce.line + ": Cast Expression has type: " + ce.type);
+		if (debug) println(ce.line + ": Cast Expression has type: " + ce.type);
 		return castType;
 	    }
 	
@@ -646,21 +629,21 @@ public class TypeChecker extends Visitor {
 
 	// The overall type of a cast expression is always the cast type.
 
-	println(ce.line + ": Cast Expression has type: " + ce.type);
+	if (debug) println(ce.line + ": Cast Expression has type: " + ce.type);
 	return ce.type;
     }
 
     /** CLASSTYPE */
     public Object visitClassType(ClassType ct) {
-	println(ct.line + ": Visiting a class type");
+	if (debug) println(ct.line + ": Visiting a class type");
 	// A class type is alreayd a type, so nothing to do.
-	println(ct.line + ": Class Type has type: " + ct);
+	if (debug) println(ct.line + ": Class Type has type: " + ct);
 	return ct;
     }
 
     /** CONSTRUCTOR (EXPLICIT) INVOCATION */
     public Object visitCInvocation(CInvocation ci) {
-	println(ci.line + ": Visiting an explicit constructor invocation");
+	if (debug) println(ci.line + ": Visiting an explicit constructor invocation");
 
 	// An explicit constructor invocation takes one of two forms:
 	// this ( ... )  -- this calls a constructor in the same class (currentClass)
@@ -714,7 +697,7 @@ public class TypeChecker extends Visitor {
 
 	// Check if we have a circular call.
 	if (constructor == currentContext)
-	    Error.error(ci,"recursive constructor invocation of constructor " + targetClass.name() + "(" + Type.parseSignature(constructor.paramSignature()) + " ).");
+	    Error.error(ci,"recursive constructor invocation of constructor " + targetClass.name() + "(" + constructor.parsedParamSignature() + " ).");
 
 	ci.targetClass = targetClass;
 	ci.constructor = constructor;
@@ -725,7 +708,7 @@ public class TypeChecker extends Visitor {
 
     /** CLASS DECLARATION */
     public Object visitClassDecl(ClassDecl cd) {
-	println(cd.line + ": Visiting a class declaration " + cd.name());
+	if (debug) println(cd.line + ": Visiting a class declaration " + cd.name());
 
 	// The only check to do here is that we cannot have repreated interface implementations.
 	// E.g.: class A implements I, I { ... } is illegal.
@@ -747,7 +730,7 @@ public class TypeChecker extends Visitor {
 
     /** CONSTRUCTOR DECLARATION */
     public Object visitConstructorDecl(ConstructorDecl cd) {
-	println(cd.line + ": Visiting a constructor declaration");
+	if (debug) println(cd.line + ": Visiting a constructor declaration");
 
 	// Update the current context
 	currentContext = cd;
@@ -761,7 +744,7 @@ public class TypeChecker extends Visitor {
 
     /** DO STATEMENT */
     public Object visitDoStat(DoStat ds) {
-	println(ds.line + ": Visiting a do statement");
+	if (debug) println(ds.line + ": Visiting a do statement");
 
 	//<--
 	// Compute the type of the expression
@@ -781,7 +764,7 @@ public class TypeChecker extends Visitor {
 
     /** FIELD DECLARATION */
     public Object visitFieldDecl(FieldDecl fd) {
-	println(fd.line + ": Visiting a field declaration");
+	if (debug) println(fd.line + ": Visiting a field declaration");
 
 	// Update the current context
 	currentContext = fd;
@@ -802,7 +785,7 @@ public class TypeChecker extends Visitor {
 
     /** FIELD REFERENCE */
     public Object visitFieldRef(FieldRef fr) {
-	println(fr.line + ": Visiting a field reference" + fr.target());
+	if (debug) println(fr.line + ": Visiting a field reference" + fr.target());
 
 	Type targetType = (Type) fr.target().visit(this);
 	String field    = fr.fieldName().getname();
@@ -810,8 +793,8 @@ public class TypeChecker extends Visitor {
 	// Changed June 22 2012 ARRAY
 	if (fr.fieldName().getname().equals("length")) {
 	    if (targetType.isArrayType()) {
-		fr.type = new PrimitiveType(PrimitiveType.IntKind);
-		println(fr.line + ": Field Reference was a an Array.length reference, and it has type: " + fr.type);
+		fr.type = PrimitiveType.get(PrimitiveType.IntKind);
+		if (debug) println(fr.line + ": Field Reference was a an Array.length reference, and it has type: " + fr.type);
 		fr.targetType = targetType;
 		return fr.type;
 	    }
@@ -822,7 +805,7 @@ public class TypeChecker extends Visitor {
 	    ClassDecl cd = c.myDecl;
 	    fr.targetType = targetType;
 
-	    println(fr.line + ": FieldRef: Looking up symbol '" + field + "' in fieldTable of class '" + 
+	    if (debug) println(fr.line + ": FieldRef: Looking up symbol '" + field + "' in fieldTable of class '" + 
 		    c.typeName() + "'.");
 
 	    // Lookup field in the field table of the class associated with the target.
@@ -837,7 +820,7 @@ public class TypeChecker extends Visitor {
 	    }
 	} else 
 	    Error.error(fr,"Attempt to access field '" + field + "' in something not of class type.");
-	println(fr.line + ": Field Reference has type: " + fr.type);
+	if (debug) println(fr.line + ": Field Reference has type: " + fr.type);
 
 	if (inFieldInit && currentFieldDecl.fieldNumber <= fr.myDecl.fieldNumber && currentClass.name().equals(   (((ClassType)fr.targetType).myDecl).name()))
 	    Error.error(fr,"Illegal forward reference of non-initialized field.");
@@ -847,7 +830,7 @@ public class TypeChecker extends Visitor {
 
     /** FOR STATEMENT */
     public Object visitForStat(ForStat fs) {
-	println(fs.line + ": Visiting a for statement");
+	if (debug) println(fs.line + ": Visiting a for statement");
 
 	//<--
 	fs.init().visit(this);
@@ -867,7 +850,7 @@ public class TypeChecker extends Visitor {
 
     /** IF STATEMENT */
     public Object visitIfStat(IfStat is) {
-	println(is.line + ": Visiting a if statement");
+	if (debug) println(is.line + ": Visiting a if statement");
 
 	//<--
 	Type eType = (Type) is.expr().visit(this);
@@ -885,7 +868,7 @@ public class TypeChecker extends Visitor {
 
     /** INVOCATION */
     public Object visitInvocation(Invocation in) {
-	println(in.line + ": Visiting an Invocation");
+	if (debug) println(in.line + ": Visiting an Invocation");
 
 	//<--
 	Type targetType = null;
@@ -896,8 +879,7 @@ public class TypeChecker extends Visitor {
 	if (in.target() == null) {
 	    cd = currentClass;
 	    // Dec 6. 2017 - test! ;-)
-	    in.targetType = new ClassType(currentClass.className());
-	    ((ClassType)in.targetType).myDecl = currentClass;
+	    in.targetType = currentClass.classType();
 	}
 	else {
 	    // obj.method or class.method.
@@ -906,8 +888,8 @@ public class TypeChecker extends Visitor {
 			
 	    // 12/06/13 - .length() in String
 	    if (in.target() != null && in.targetType.isStringType() && methodName.equals("length") && in.params().nchildren == 0) {	
-		in.type = new PrimitiveType(PrimitiveType.IntKind);	
-		println(in.line	 + ": Invocation has type: " + in.type);
+		in.type = PrimitiveType.get(PrimitiveType.IntKind);	
+		if (debug) println(in.line	 + ": Invocation has type: " + in.type);
 		in.targetMethod = null;
 		return in.type;		
 	    }
@@ -916,8 +898,8 @@ public class TypeChecker extends Visitor {
 		Type t = (Type)in.params().children[0].visit(this);
 		if (!t.isIntegerType()) 
 		    Error.error(in,"method charAt in class String cannot be applied to " + t.typeName() + ".");
-		in.type = new PrimitiveType(PrimitiveType.CharKind);
-		println(in.line	 + ": Invocation has type: " + in.type);
+		in.type = PrimitiveType.get(PrimitiveType.CharKind);
+		if (debug) println(in.line	 + ": Invocation has type: " + in.type);
 		in.targetMethod = null;
 		return in.type;		
 	    }
@@ -963,13 +945,13 @@ public class TypeChecker extends Visitor {
 	in.type = method.returnType();
 	//-->
 
-	println(in.line + ": Invocation has type: " + in.type);
+	if (debug) println(in.line + ": Invocation has type: " + in.type);
 	return in.type;
     }
 
     /** LITERAL */
     public Object visitLiteral(Literal li) {
-	println(li.line + ": Visiting a literal");
+	if (debug) println(li.line + ": Visiting a literal");
 
 	//<--
 	// Remember that the constants in PrimitiveType are defined from the ones
@@ -978,16 +960,16 @@ public class TypeChecker extends Visitor {
 	if (li.getKind() == Literal.NullKind) 
 	    li.type = new NullType(li);
 	else
-	    li.type = new PrimitiveType(li.getKind());
+	    li.type = PrimitiveType.get(li.getKind());
 	//-->
 
-	println(li.line + ": Literal has type: " + li.type);
+	if (debug) println(li.line + ": Literal has type: " + li.type);
 	return li.type;
     }
 
     /** METHOD DECLARATION */
     public Object visitMethodDecl(MethodDecl md) {
-	println(md.line + ": Visiting a method declaration");
+	if (debug) println(md.line + ": Visiting a method declaration");
 	currentContext = md;
 
 	//<--
@@ -999,7 +981,7 @@ public class TypeChecker extends Visitor {
 
     /** NAME EXPRESSION */
     public Object visitNameExpr(NameExpr ne) {
-	println(ne.line + ": Visiting a Name Expression");
+	if (debug) println(ne.line + ": Visiting a Name Expression");
 
 	//<--
 	if (ne.myDecl instanceof LocalDecl || ne.myDecl instanceof ParamDecl) {
@@ -1010,20 +992,18 @@ public class TypeChecker extends Visitor {
 	    // if it weren't a class it would have been caught in the 
 	    // name resolution phase
 	    //ne.type = new ClassType(((ClassDecl)ne.myDecl).className());
-	    ne.type = new ClassType(ne.name());
-	    // or how about just new ClassType(ne.name()) Einstein!!!
-	    ((ClassType)ne.type).myDecl = (ClassDecl)ne.myDecl;
+	    ne.type = ((ClassDecl)ne.myDecl).classType();
 	} else 
 	    Error.error(ne,"Unknown name expression '" + ne.name().getname() + "'.");
 	//-->
 
-	println(ne.line + ": Name Expression has type: " + ne.type);
+	if (debug) println(ne.line + ": Name Expression has type: " + ne.type);
 	return ne.type;
     }
 
     /** NEW */
     public Object visitNew(New ne) {
-	println(ne.line + ": Visiting a new");
+	if (debug) println(ne.line + ": Visiting a new");
 
 	//<--
 	ConstructorDecl constructor;
@@ -1068,14 +1048,14 @@ public class TypeChecker extends Visitor {
 	ne.type = ct;
 	//-->
 
-	println(ne.line + ": New has type: " + ne.type);
+	if (debug) println(ne.line + ": New has type: " + ne.type);
 	return ne.type;
     }
 
 
     /** RETURN STATEMENT */
     public Object visitReturnStat(ReturnStat rs) {
-	println(rs.line + ": Visiting a return statement");
+	if (debug) println(rs.line + ": Visiting a return statement");
 	Type returnType;
 
 	if (currentContext instanceof MethodDecl)
@@ -1119,7 +1099,7 @@ public class TypeChecker extends Visitor {
 
     /** STATIC INITIALIZER */
     public Object visitStaticInitDecl(StaticInitDecl si) {
-	println(si.line + ": Visiting a static initializer");
+	if (debug) println(si.line + ": Visiting a static initializer");
 
 	//<--
 	currentContext = si;
@@ -1131,7 +1111,7 @@ public class TypeChecker extends Visitor {
 
     /** SUPER */
     public Object visitSuper(Super su) {
-	println(su.line + ": Visiting a super");
+	if (debug) println(su.line + ": Visiting a super");
 
 	//<--
 	// Check that currentClass has a super class, and return it.
@@ -1141,7 +1121,7 @@ public class TypeChecker extends Visitor {
 	    Error.error(su, "Class '" + currentClass.name() + "' does not have a superclass.");
 
 	su.type = currentClass.superClass();
-	println(su.line + ": Super has type: " + su.type);
+	if (debug) println(su.line + ": Super has type: " + su.type);
 	//-->
 
 	return su.type;
@@ -1149,7 +1129,7 @@ public class TypeChecker extends Visitor {
 
     /** SWITCH STATEMENT */
     public Object visitSwitchStat(SwitchStat ss) {
-	println(ss.line + ": Visiting a Switch statement");
+	if (debug) println(ss.line + ": Visiting a Switch statement");
 
 	//<--
 	SwitchGroup sg = null;
@@ -1277,15 +1257,10 @@ public class TypeChecker extends Visitor {
 		   continue;
 	       }
 	       //System.out.print("Comparing " + cd1.name() + " to " + cd2.name() + ": ");
-	       ClassType ct1 = new ClassType(cd1.className());
-	       ct1.myDecl = cd1;
-	       ClassType ct2 = new ClassType(cd2.className());
-	       ct2.myDecl = cd2;
-	    
-	       if (Type.isSuper(ct1, ct2)) {
+	       if (cd2.isSubtypeOf(cd1)) {
 		   //System.out.println(" Throwing away " + cd1.name());
 		   commonHierarchy.set(i, null);
-	       } else if (Type.isSuper(ct2, ct1)) {
+	       } else if (cd1.isSubtypeOf(cd2)) {
 		   //System.out.println(" Throwing away " + cd2.name());
 		   commonHierarchy.set(j, null);
 	       } else
@@ -1329,7 +1304,7 @@ public class TypeChecker extends Visitor {
     
     /** TERNARY EXPRESSION */
     public Object visitTernary(Ternary te) {
-	println(te.line + ": Visiting a ternary expression");
+	if (debug) println(te.line + ": Visiting a ternary expression");
 
 	//<--
 	Type eType = (Type)te.expr().visit(this);
@@ -1342,7 +1317,7 @@ public class TypeChecker extends Visitor {
 	if (trueBranchType instanceof PrimitiveType && falseBranchType instanceof PrimitiveType) {
 	    if (Type.assignmentCompatible(falseBranchType, trueBranchType) ||
 		Type.assignmentCompatible(trueBranchType, falseBranchType)) 
-		te.type = new PrimitiveType(PrimitiveType.ceiling((PrimitiveType)trueBranchType, (PrimitiveType)falseBranchType));
+		te.type = PrimitiveType.get(PrimitiveType.ceiling((PrimitiveType)trueBranchType, (PrimitiveType)falseBranchType));
 	    else
 		Error.error(te,"Both branches of a ternary expression must be of assignment compatible types.");
 	} else if (trueBranchType.isClassType() && falseBranchType.isClassType()) {
@@ -1355,23 +1330,23 @@ public class TypeChecker extends Visitor {
 	else
 	    Error.error(te,"Both branches of a ternary expression must be of assignment compatible types.");       
 	//-->
-	println(te.line + ": Ternary has type: " + te.type);
+	if (debug) println(te.line + ": Ternary has type: " + te.type);
 	return te.type;
     }
 
     /** THIS */
     public Object visitThis(This th) {
-	println(th.line + ": Visiting a this statement");
+	if (debug) println(th.line + ": Visiting a this statement");
 
 	th.type = th.type();
 
-	println(th.line + ": This has type: " + th.type);
+	if (debug) println(th.line + ": This has type: " + th.type);
 	return th.type;
     }
 
     /** UNARY POST EXPRESSION */
     public Object visitUnaryPostExpr(UnaryPostExpr up) {
-	println(up.line + ": Visiting a unary post expression");
+	if (debug) println(up.line + ": Visiting a unary post expression");
 	//<--
 	Type eType = null;
 
@@ -1387,13 +1362,13 @@ public class TypeChecker extends Visitor {
 	up.type = eType;
 	//-->
 
-	println(up.line + ": Unary Post Expression has type: " + up.type);
+	if (debug) println(up.line + ": Unary Post Expression has type: " + up.type);
 	return up.type;
     }
 
     /** UNARY PRE EXPRESSION */
     public Object visitUnaryPreExpr(UnaryPreExpr up) {
-	println(up.line + ": Visiting a unary pre expression");
+	if (debug) println(up.line + ": Visiting a unary pre expression");
 
 	//<--
 	Type eType = (Type) up.expr().visit(this);
@@ -1429,18 +1404,18 @@ public class TypeChecker extends Visitor {
 
 	// Promote operations on byte, short and char to int.
 	if (eType.isByteType() || eType.isShortType() || eType.isCharType())
-	    eType = new PrimitiveType(PrimitiveType.IntKind); 
+	    eType = PrimitiveType.get(PrimitiveType.IntKind); 
 
 	up.type = eType;
 	//-->
 
-	println(up.line + ": Unary Pre Expression has type: " + up.type);
+	if (debug) println(up.line + ": Unary Pre Expression has type: " + up.type);
 	return up.type;
     }
 
     /** VAR */
     public Object visitVar(Var va) {
-	println(va.line + ": Visiting a var");
+	if (debug) println(va.line + ": Visiting a var");
 
 	//<--
 	if (va.init() != null) {
@@ -1470,7 +1445,7 @@ public class TypeChecker extends Visitor {
 
     /** WHILE STATEMENT */
     public Object visitWhileStat(WhileStat ws) {
-	println(ws.line + ": Visiting a while statement"); 
+	if (debug) println(ws.line + ": Visiting a while statement"); 
 
 	//<--
 	Type eType = (Type) ws.expr().visit(this);
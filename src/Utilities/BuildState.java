@@ -0,0 +1,195 @@
+package Utilities;
+
+import java.io.*;
+import java.security.MessageDigest;
+import java.util.*;
+
+import AST.*;
+
+/** BuildState is what an incremental compile (-incremental) remembers
+ * between runs. It is kept in the file 'espresso.deps' next to the
+ * generated Jasmin files and holds:
+ *
+ *   options &lt;phase and code generation settings&gt;
+ *   file &lt;source file&gt; &lt;SHA-1 of its contents&gt;
+ *   import &lt;Include or Library file&gt; &lt;SHA-1 of its contents&gt; &lt;classes it declares&gt; ...
+ *   class &lt;class&gt; &lt;source file&gt; &lt;classes it depends on&gt; ...
+ *
+ * A source file is up to date if its contents did not change, all of its
+ * classes still have their Jasmin file, and none of them depends (directly
+ * or through other classes) on a class that has to be recompiled or on a
+ * class of an imported file that changed. Up to
+ * date files are only parsed for their declarations and no code is
+ * generated for their classes; their Jasmin files from the last run are
+ * kept.
+ */
+public class BuildState {
+	public static final String FILE_NAME = "espresso.deps";
+
+	private String options;
+	private Hashtable<String,String> oldHashes = new Hashtable<String,String>();
+	private Hashtable<String,String> hashes = new Hashtable<String,String>();
+	// class name -> the source file it was declared in
+	private Hashtable<String,String> classFiles = new Hashtable<String,String>();
+	// class name -> the classes it uses
+	private Hashtable<String,Set<String>> dependencies = new Hashtable<String,Set<String>>();
+	private HashSet<String> upToDate = new HashSet<String>();
+	// imported file -> its SHA-1 and the classes read from it
+	private Hashtable<String,String> oldImportHashes = new Hashtable<String,String>();
+	private Hashtable<String,Set<String>> importClasses = new Hashtable<String,Set<String>>();
+
+	// BuildState: loads the state of the last run. If there is none, or it was made with other
+	//              options, nothing is up to date.
+	public BuildState(String options) {
+		this.options = options;
+		try {
+			BufferedReader in = new BufferedReader(new FileReader(FILE_NAME));
+			try {
+				String line = in.readLine();
+				if (line == null || !line.equals("options " + options))
+					return;
+				while ((line = in.readLine()) != null) {
+					String[] words = line.split(" ");
+					if (words[0].equals("file"))
+						oldHashes.put(words[1], words[2]);
+					else if (words[0].equals("import")) {
+						oldImportHashes.put(words[1], words[2]);
+						importClasses.put(words[1], new TreeSet<String>(Arrays.asList(words).subList(3, words.length)));
+					} else if (words[0].equals("class")) {
+						classFiles.put(words[1], words[2]);
+						dependencies.put(words[1], new TreeSet<String>(Arrays.asList(words).subList(3, words.length)));
+					}
+				}
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			oldHashes.clear();
+			oldImportHashes.clear();
+			importClasses.clear();
+			classFiles.clear();
+			dependencies.clear();
+		}
+	}
+
+	// findUpToDate: works out which of the source files need not be compiled again.
+	public Set<String> findUpToDate(Vector<String> fileNames) throws IOException {
+		HashSet<String> dirty = new HashSet<String>();
+		for (String fileName : fileNames) {
+			String hash = hash(fileName);
+			hashes.put(fileName, hash);
+			if (!hash.equals(oldHashes.get(fileName)))
+				dirty.add(fileName);
+		}
+		// A class is dirty if its file changed, its file is no longer compiled, or its output is gone.
+		HashSet<String> dirtyClasses = new HashSet<String>();
+		for (String className : classFiles.keySet()) {
+			String fileName = classFiles.get(className);
+			if (dirty.contains(fileName) || !hashes.containsKey(fileName) ||
+				!new File(className + Settings.fileExt).exists())
+				dirtyClasses.add(className);
+		}
+		// The classes of an imported file that changed are dirty too; they are not compiled, but
+		// the classes that use them are.
+		for (String fileName : importClasses.keySet())
+			if (!new File(fileName).exists() || !hash(fileName).equals(oldImportHashes.get(fileName)))
+				dirtyClasses.addAll(importClasses.get(fileName));
+		// ... and so is every class that uses a dirty class.
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (String className : classFiles.keySet())
+				if (!dirtyClasses.contains(className))
+					for (String used : dependencies.get(className))
+						if (dirtyClasses.contains(used)) {
+							dirtyClasses.add(className);
+							changed = true;
+							break;
+						}
+		}
+		for (String className : dirtyClasses)
+			if (classFiles.containsKey(className))
+				dirty.add(classFiles.get(className));
+
+		for (String fileName : fileNames)
+			if (!dirty.contains(fileName) && classFiles.containsValue(fileName))
+				upToDate.add(fileName);
+		return upToDate;
+	}
+
+	// record: updates the classes, their dependencies and the imported files from a compiled
+	//         program. The classes of up to date files were only declared, so their old
+	//         dependencies are kept.
+	public void record(Compilation program) {
+		Hashtable<String,String> newClassFiles = new Hashtable<String,String>();
+		Hashtable<String,Set<String>> newDependencies = new Hashtable<String,Set<String>>();
+		Hashtable<String,Set<String>> newImportClasses = new Hashtable<String,Set<String>>();
+		Sequence types = program.types();
+		for (int i=0; i<types.nchildren; i++) {
+			ClassDecl cd = (ClassDecl)types.children[i];
+			if (cd.importFile != null) {
+				Set<String> classes = newImportClasses.get(cd.importFile);
+				if (classes == null) {
+					classes = new TreeSet<String>();
+					newImportClasses.put(cd.importFile, classes);
+				}
+				classes.add(cd.name());
+			}
+			if (cd.sourceFile == null)
+				continue;
+			newClassFiles.put(cd.name(), cd.sourceFile);
+			if (upToDate.contains(cd.sourceFile) && dependencies.containsKey(cd.name()))
+				newDependencies.put(cd.name(), dependencies.get(cd.name()));
+			else
+				newDependencies.put(cd.name(), new ClassDependencies(cd).getClasses());
+		}
+		classFiles = newClassFiles;
+		dependencies = newDependencies;
+		importClasses = newImportClasses;
+	}
+
+	public void write() throws IOException {
+		PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(FILE_NAME)));
+		try {
+			out.println("options " + options);
+			for (String fileName : new TreeSet<String>(hashes.keySet()))
+				out.println("file " + fileName + " " + hashes.get(fileName));
+			for (String fileName : new TreeSet<String>(importClasses.keySet())) {
+				out.print("import " + fileName + " " + hash(fileName));
+				for (String className : importClasses.get(fileName))
+					out.print(" " + className);
+				out.println();
+			}
+			for (String className : new TreeSet<String>(classFiles.keySet())) {
+				out.print("class " + className + " " + classFiles.get(className));
+				for (String used : dependencies.get(className))
+					out.print(" " + used);
+				out.println();
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	// hash: the SHA-1 of the contents of a file, in hex.
+	public static String hash(String fileName) throws IOException {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1");
+			InputStream in = new FileInputStream(fileName);
+			try {
+				byte[] buffer = new byte[8192];
+				int n;
+				while ((n = in.read(buffer)) > 0)
+					digest.update(buffer, 0, n);
+			} finally {
+				in.close();
+			}
+			StringBuilder s = new StringBuilder();
+			for (byte b : digest.digest())
+				s.append(String.format("%02x", b));
+			return s.toString();
+		} catch (java.security.NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package Utilities;
+
+import java.util.*;
+
+import AST.*;
+
+/** ClassDependencies collects the names of the classes a class uses once
+ * name and type checking have resolved it: the classes named by its types,
+ * the classes of the fields and methods it accesses and of the constructors
+ * it calls. BuildState records them so that a class gets recompiled when
+ * one of these classes changes.
+ */
+public class ClassDependencies extends Visitor {
+	private TreeSet<String> classes = new TreeSet<String>();
+
+	public ClassDependencies(ClassDecl cd) {
+		cd.visit(this);
+		classes.remove(cd.name());
+	}
+
+	public Set<String> getClasses() {
+		return classes;
+	}
+
+	private void add(ClassDecl cd) {
+		if (cd != null)
+			classes.add(cd.name());
+	}
+
+	public Object visitClassType(ClassType ct) {
+		add(ct.myDecl);
+		return null;
+	}
+
+	public Object visitNameExpr(NameExpr ne) {
+		if (ne.myDecl instanceof ClassDecl)
+			add((ClassDecl)ne.myDecl);
+		return null;
+	}
+
+	public Object visitFieldRef(FieldRef fr) {
+		if (fr.target() != null && fr.target().type instanceof ClassType)
+			add(((ClassType)fr.target().type).myDecl);
+		return fr.visitChildren(this);
+	}
+
+	public Object visitInvocation(Invocation in) {
+		if (in.targetMethod != null)
+			add(in.targetMethod.getMyClass());
+		return in.visitChildren(this);
+	}
+
+	public Object visitCInvocation(CInvocation ci) {
+		add(ci.targetClass);
+		return ci.visitChildren(this);
+	}
+}
@@ -0,0 +1,288 @@
+package Utilities;
+
+import java.io.*;
+import java.util.*;
+
+import AST.*;
+import Parser.sym;
+
+/** ClassFileReader builds the ClassDecl of an imported library class from
+ * its compiled .class file (see the -L option of Espressoc) instead of
+ * parsing a hand written stub in the include directory. Only the constant
+ * pool and the field and method tables are read; code attributes are
+ * skipped.
+ *
+ * Members whose signatures mention types Espresso does not know (anything
+ * from java.* other than String and Object) are left out, and so are
+ * supertypes from java.*. Other library classes used in the signatures
+ * are returned by getReferences() so they can be imported as well.
+ *
+ * Run as a program it prints the Espresso stub source for a class file,
+ * which can be used to regenerate the files in the include directory.
+ */
+public class ClassFileReader {
+	private static final int ACC_PRIVATE   = 0x0002;
+	private static final int ACC_STATIC    = 0x0008;
+	private static final int ACC_FINAL     = 0x0010;
+	private static final int ACC_BRIDGE    = 0x0040;
+	private static final int ACC_INTERFACE = 0x0200;
+	private static final int ACC_ABSTRACT  = 0x0400;
+	private static final int ACC_SYNTHETIC = 0x1000;
+
+	private String[] utf8;    // the Utf8 constants (null for other constants)
+	private int[] classNames; // for Class constants: the index of the name
+	private String className;
+	private int classAccess;
+	private boolean isInterface;
+	private ClassDecl classDecl;
+	private LinkedHashSet<String> references = new LinkedHashSet<String>();
+	private StringBuilder members = new StringBuilder(); // stub source of the members
+
+	private NamePool names;
+
+	public ClassFileReader(String fileName, NamePool names) throws IOException {
+		this.names = names;
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName)));
+		try {
+			read(in, fileName);
+		} finally {
+			in.close();
+		}
+	}
+
+	public ClassDecl getClassDecl() {
+		return classDecl;
+	}
+
+	// getReferences: the other library classes used by the members of the class.
+	public Set<String> getReferences() {
+		return references;
+	}
+
+	private void read(DataInputStream in, String fileName) throws IOException {
+		if (in.readInt() != 0xCAFEBABE)
+			throw new IOException(fileName + " is not a class file");
+		in.readUnsignedShort(); // minor version
+		in.readUnsignedShort(); // major version
+		readConstantPool(in);
+
+		classAccess = in.readUnsignedShort() & ~ACC_PRIVATE;
+		isInterface = (classAccess & ACC_INTERFACE) != 0;
+		className = className(in.readUnsignedShort());
+		String superName = className(in.readUnsignedShort());
+		ClassType superClass = null;
+		if (superName != null && !superName.startsWith("java/"))
+			superClass = (ClassType)type(superName);
+
+		Sequence interfaces = new Sequence();
+		int count = in.readUnsignedShort();
+		for (int i=0; i<count; i++) {
+			String name = className(in.readUnsignedShort());
+			if (!name.startsWith("java/"))
+				interfaces.append(type(name));
+		}
+
+		Sequence body = new Sequence();
+		count = in.readUnsignedShort();
+		for (int i=0; i<count; i++) {
+			FieldDecl fd = field(in.readUnsignedShort(), in.readUnsignedShort(), in.readUnsignedShort());
+			skipAttributes(in);
+			if (fd != null)
+				body.append(fd);
+		}
+		count = in.readUnsignedShort();
+		for (int i=0; i<count; i++) {
+			ClassBodyDecl md = method(in.readUnsignedShort(), in.readUnsignedShort(), in.readUnsignedShort());
+			skipAttributes(in);
+			if (md != null)
+				body.append(md);
+		}
+		references.remove(className);
+
+		classDecl = new ClassDecl(modifiers(classAccess, isInterface), name(className), superClass, interfaces, body,
+								  isInterface ? ClassDecl.IS_INTERFACE : ClassDecl.IS_NOT_INTERFACE);
+	}
+
+	private void readConstantPool(DataInputStream in) throws IOException {
+		int count = in.readUnsignedShort();
+		utf8 = new String[count];
+		classNames = new int[count];
+		for (int i=1; i<count; i++) {
+			int tag = in.readUnsignedByte();
+			switch (tag) {
+			case 1:  utf8[i] = in.readUTF(); break;                   // Utf8
+			case 7:  classNames[i] = in.readUnsignedShort(); break;   // Class
+			case 8: case 16: case 19: case 20: in.skipBytes(2); break; // String, MethodType, Module, Package
+			case 15: in.skipBytes(3); break;                          // MethodHandle
+			case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18:
+				in.skipBytes(4); break;                               // Integer, Float, refs, NameAndType, (Invoke)Dynamic
+			case 5: case 6:                                           // Long and Double take up two entries
+				in.skipBytes(8); i++; break;
+			default:
+				throw new IOException("Unknown constant pool tag " + tag);
+			}
+		}
+	}
+
+	private void skipAttributes(DataInputStream in) throws IOException {
+		int count = in.readUnsignedShort();
+		for (int i=0; i<count; i++) {
+			in.readUnsignedShort();
+			in.skipBytes(in.readInt());
+		}
+	}
+
+	private String className(int index) {
+		return index == 0 ? null : utf8[classNames[index]];
+	}
+
+	private FieldDecl field(int access, int nameIndex, int descriptorIndex) {
+		if ((access & ACC_SYNTHETIC) != 0)
+			return null;
+		String descriptor = utf8[descriptorIndex];
+		Type type = type(descriptor, new int[] { 0 });
+		if (type == null)
+			return null;
+		members.append("    " + modifierString(access, isInterface) + type.typeName() + " " + utf8[nameIndex] + ";\n");
+		return new FieldDecl(modifiers(access, isInterface), type, new Var(name(utf8[nameIndex])), isInterface);
+	}
+
+	private ClassBodyDecl method(int access, int nameIndex, int descriptorIndex) {
+		String name = utf8[nameIndex];
+		if ((access & (ACC_SYNTHETIC | ACC_BRIDGE)) != 0 || name.equals("<clinit>"))
+			return null;
+		String descriptor = utf8[descriptorIndex];
+		int[] pos = new int[] { 1 };
+		Sequence params = new Sequence();
+		String paramString = "";
+		while (descriptor.charAt(pos[0]) != ')') {
+			Type type = type(descriptor, pos);
+			if (type == null)
+				return null;
+			String paramName = "p" + params.nchildren;
+			paramString += (params.nchildren == 0 ? "" : ", ") + type.typeName() + " " + paramName;
+			params.append(new ParamDecl(type, name(paramName)));
+		}
+		pos[0]++;
+		Type returnType = type(descriptor, pos);
+		if (returnType == null)
+			return null;
+
+		if (name.equals("<init>")) {
+			members.append("    " + modifierString(access, false) + className + "(" + paramString + ") { }\n");
+			return new ConstructorDecl(modifiers(access, false), name(className), params, null, new Sequence());
+		}
+		boolean hasBody = (access & ACC_ABSTRACT) == 0;
+		members.append("    " + modifierString(access, isInterface) + returnType.typeName() + " " + name +
+					   "(" + paramString + ")" + (hasBody ? " { }\n" : ";\n"));
+		return new MethodDecl(modifiers(access, isInterface), returnType, name(name), params,
+							  hasBody ? new Block(new Sequence()) : null,
+							  isInterface ? MethodDecl.IS_INTERFACE_MEMBER : MethodDecl.IS_NOT_INTERFACE_MEMBER);
+	}
+
+	// type: the type described by the descriptor at 'pos[0]' (which is moved past it), or
+	//       null if Espresso has no such type.
+	private Type type(String descriptor, int[] pos) {
+		int depth = 0;
+		while (descriptor.charAt(pos[0]) == '[') {
+			depth++;
+			pos[0]++;
+		}
+		char c = descriptor.charAt(pos[0]++);
+		Type type;
+		switch (c) {
+		case 'Z': type = new PrimitiveType(PrimitiveType.BooleanKind); break;
+		case 'B': type = new PrimitiveType(PrimitiveType.ByteKind); break;
+		case 'S': type = new PrimitiveType(PrimitiveType.ShortKind); break;
+		case 'C': type = new PrimitiveType(PrimitiveType.CharKind); break;
+		case 'I': type = new PrimitiveType(PrimitiveType.IntKind); break;
+		case 'J': type = new PrimitiveType(PrimitiveType.LongKind); break;
+		case 'F': type = new PrimitiveType(PrimitiveType.FloatKind); break;
+		case 'D': type = new PrimitiveType(PrimitiveType.DoubleKind); break;
+		case 'V': type = new PrimitiveType(PrimitiveType.VoidKind); break;
+		case 'L':
+			int end = descriptor.indexOf(';', pos[0]);
+			type = type(descriptor.substring(pos[0], end));
+			pos[0] = end + 1;
+			break;
+		default:
+			type = null;
+		}
+		if (type == null || depth == 0)
+			return type;
+		return new ArrayType(type, depth);
+	}
+
+	// type: the type for the internal class name 'name' (like java/lang/String), or null.
+	private Type type(String name) {
+		if (name.equals("java/lang/String"))
+			return new PrimitiveType(PrimitiveType.StringKind);
+		if (name.equals("java/lang/Object"))
+			return new ClassType(name("Object"));
+		if (name.indexOf('/') >= 0)
+			return null;
+		references.add(name);
+		return new ClassType(name(name));
+	}
+
+	private Name name(String id) {
+		return new Name(new Token(sym.IDENTIFIER, names.intern(id), 0, 0, 0));
+	}
+
+	// modifiers: Espresso only knows public and private, so protected and package access
+	//            become public (as they do for a member declared without modifiers).
+	private static Sequence modifiers(int access, boolean interfaceMember) {
+		Sequence s = new Sequence(new Modifier((access & ACC_PRIVATE) != 0 ? Modifier.Private : Modifier.Public));
+		if ((access & ACC_STATIC) != 0)
+			s.append(new Modifier(Modifier.Static));
+		if ((access & ACC_FINAL) != 0)
+			s.append(new Modifier(Modifier.Final));
+		if ((access & ACC_ABSTRACT) != 0 && !interfaceMember)
+			s.append(new Modifier(Modifier.Abstract));
+		return s;
+	}
+
+	private static String modifierString(int access, boolean interfaceMember) {
+		String s = (access & ACC_PRIVATE) != 0 ? "private " : "public ";
+		if ((access & ACC_STATIC) != 0)
+			s += "static ";
+		if ((access & ACC_FINAL) != 0)
+			s += "final ";
+		if ((access & ACC_ABSTRACT) != 0 && !interfaceMember)
+			s += "abstract ";
+		return s;
+	}
+
+	// toSource: the Espresso stub source for the class.
+	public String toSource() {
+		String s = "";
+		for (String r : references)
+			s += "import " + r + ";\n";
+		if (!references.isEmpty())
+			s += "\n";
+		s += modifierString(classAccess, isInterface);
+		s += (isInterface ? "interface " : "class ") + className;
+		if (classDecl.superClass() != null)
+			s += " extends " + classDecl.superClass().typeName();
+		Sequence interfaces = classDecl.interfaces();
+		for (int i=0; i<interfaces.nchildren; i++)
+			s += (i == 0 ? (isInterface ? " extends " : " implements ") : ", ") + ((ClassType)interfaces.children[i]).typeName();
+		return s + " {\n" + members + "}\n";
+	}
+
+	public static void main(String args[]) {
+		if (args.length == 0) {
+			System.out.println("Usage: java Utilities.ClassFileReader file.class ...");
+			System.exit(1);
+		}
+		NamePool names = new NamePool();
+		for (int i=0; i<args.length; i++) {
+			try {
+				System.out.print(new ClassFileReader(args[i], names).toSource());
+			} catch (IOException e) {
+				System.out.println("Could not read : \"" + args[i] + "\"");
+				System.exit(1);
+			}
+		}
+	}
+}
@@ -0,0 +1,15 @@
+package Utilities;
+
+import AST.*;
+
+/** CompactSequences trims every Sequence in a tree. Sequences grow by
+ * doubling while the parser appends to them, so most of them end up with
+ * unused slots. It only looks at one node at a time, so it can run as a
+ * pass of a FusedVisitor walk.
+ */
+public class CompactSequences extends Visitor {
+	public Object visitSequence(Sequence se) {
+		se.trim();
+		return se.visitChildren(this);
+	}
+}
@@ -0,0 +1,48 @@
+package Utilities;
+
+import java.util.*;
+
+import AST.*;
+
+/** FusedVisitor runs several visitors (passes) over a tree in one walk:
+ * at each node every pass visits the node, in the order the passes were
+ * added, before the walk goes on to the children. The walk visits the
+ * children itself, so visitChildren() does nothing for a pass (see
+ * Visitor.inFusedWalk()), and the values returned by the visit methods are
+ * ignored. A pass must therefore only look at one node at a time; visitors
+ * like the name or type checker, which manage scopes while they recurse,
+ * cannot be passes.
+ *
+ * The walk keeps its own stack, so deep statement lists and expressions do
+ * not use up the Java stack.
+ */
+public class FusedVisitor {
+	private ArrayList<Visitor> passes = new ArrayList<Visitor>();
+
+	public FusedVisitor add(Visitor pass) {
+		passes.add(pass);
+		return this;
+	}
+
+	// visit: runs all the passes over the tree 'root'.
+	public void visit(AST root) {
+		for (Visitor v : passes)
+			v.fused = true;
+		try {
+			ArrayList<AST> stack = new ArrayList<AST>();
+			stack.add(root);
+			while (!stack.isEmpty()) {
+				AST node = stack.remove(stack.size() - 1);
+				for (Visitor v : passes)
+					node.visit(v);
+				// pushed in reverse so the children are walked from left to right.
+				for (int c = node.nchildren - 1; c >= 0; c--)
+					if (node.children[c] != null)
+						stack.add(node.children[c]);
+			}
+		} finally {
+			for (Visitor v : passes)
+				v.fused = false;
+		}
+	}
+}
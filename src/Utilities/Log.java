@@ -0,0 +1,47 @@
+package Utilities;
+
+import java.io.*;
+
+/** Log prints the progress messages of the compiler: which files are
+ * parsed and written, which classes code is generated for, and so on.
+ * By default the compiler is quiet and only prints errors and the final
+ * result; -v turns on the INFO messages and -vv the DEBUG ones as well.
+ * The -T options for tracing the phases are separate from this.
+ *
+ * The messages are few (at most one per file, class or local variable),
+ * so unlike the trace messages of the visitors the calls are not guarded
+ * by a test of the level; info() and debug() do that themselves.
+ *
+ * All output of the compiler goes through System.out, which Espressoc
+ * replaces with a buffered stream (see bufferOutput()), so printing does
+ * not wait for the console on every line.
+ */
+public class Log {
+	public static final int QUIET = 0; // errors and the final result only
+	public static final int INFO  = 1; // the files read and written and the classes compiled (-v)
+	public static final int DEBUG = 2; // details of the code generation (-vv)
+
+	public static int level = QUIET;
+
+	public static void info(String msg) {
+		if (level >= INFO)
+			System.out.println(msg);
+	}
+
+	public static void debug(String msg) {
+		if (level >= DEBUG)
+			System.out.println(msg);
+	}
+
+	// bufferOutput: makes System.out buffered. It is flushed when the compiler exits, also
+	//               when that is through System.exit() after an error.
+	public static void bufferOutput() {
+		final PrintStream out = new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16), false);
+		System.setOut(out);
+		Runtime.getRuntime().addShutdownHook(new Thread() {
+			public void run() {
+				out.flush();
+			}
+		});
+	}
+}
@@ -0,0 +1,72 @@
+package Utilities;
+
+/** NamePool holds one String for every identifier and keyword seen during
+ * a compilation. The scanner looks names up directly in its input buffer,
+ * so a name that has been seen before costs no new String at all, and all
+ * occurrences of a name share the same String object. String.equals() on
+ * two occurrences of a name stops at the identity check, and its hash code
+ * is only computed once.
+ *
+ * The pool belongs to a compilation: Espressoc makes one and hands it to
+ * the scanners of the input files and, through parser.names, to those of
+ * the imported files and to ClassFileReader. It goes away with the rest of
+ * the compilation; the names are not String.intern()'ed into the JVM.
+ *
+ * Imported files are scanned on several threads at once, so intern() is
+ * synchronized.
+ */
+public class NamePool {
+	private String[] table = new String[1024];
+	private int[] hashes = new int[1024];
+	private int size = 0;
+
+	// intern: returns the pooled String holding the characters buf[start..start+length).
+	public synchronized String intern(char[] buf, int start, int length) {
+		int h = 0;
+		for (int i=0; i<length; i++)
+			h = 31*h + buf[start+i];
+		int mask = table.length - 1;
+		int index = h & mask;
+		while (table[index] != null) {
+			if (hashes[index] == h && matches(table[index], buf, start, length))
+				return table[index];
+			index = (index + 1) & mask;
+		}
+		String s = new String(buf, start, length);
+		table[index] = s;
+		hashes[index] = h;
+		if (++size * 2 > table.length)
+			grow();
+		return s;
+	}
+
+	// intern: returns the pooled String equal to 's'.
+	public String intern(String s) {
+		return intern(s.toCharArray(), 0, s.length());
+	}
+
+	private static boolean matches(String s, char[] buf, int start, int length) {
+		if (s.length() != length)
+			return false;
+		for (int i=0; i<length; i++)
+			if (s.charAt(i) != buf[start+i])
+				return false;
+		return true;
+	}
+
+	private void grow() {
+		String[] oldTable = table;
+		int[] oldHashes = hashes;
+		table = new String[oldTable.length * 2];
+		hashes = new int[oldTable.length * 2];
+		int mask = table.length - 1;
+		for (int i=0; i<oldTable.length; i++)
+			if (oldTable[i] != null) {
+				int index = oldHashes[i] & mask;
+				while (table[index] != null)
+					index = (index + 1) & mask;
+				table[index] = oldTable[i];
+				hashes[index] = oldHashes[i];
+			}
+	}
+}
@@ -8,6 +8,11 @@ package Utilities;
 public class Settings {
 	/** Directory where the Espresso include (source) files are located */
 	public static String includeDir = "Include";
+	/** Directory with the compiled library classes. If set (by -L) imports are read
+	 * from the .class files found there; an import with no class file there is
+	 * still parsed from the include directory.
+	 */
+	public static String libraryDir = null;
 	/** Determine if the code generated is for the EVM or the JVM.
 	 * If code is generated for the JVM, the Main method will take in
 	 * an array of Strings; otherwise it will not take any parameters
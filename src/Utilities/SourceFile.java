@@ -0,0 +1,90 @@
+package Utilities;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.*;
+
+/** Reads an Espresso source file in one go and decodes it as UTF-8 into a
+ * char array. The scanner works directly on that array (see the Scanner
+ * constructor that takes a SourceFile), and the same characters are used
+ * to print the offending line when a syntax error is reported.
+ *
+ * Large files are memory mapped; smaller ones are read with a single bulk
+ * read, which is cheaper than setting up a mapping.
+ */
+public class SourceFile {
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+	private static final long MAP_THRESHOLD = 1 << 20;
+
+	private String name;
+	private char[] chars;
+	private int length;
+	private int[] lineStarts = null; // built the first time a line is asked for
+
+	public SourceFile(String name) throws IOException {
+		this.name = name;
+		FileInputStream in = new FileInputStream(name);
+		try {
+			FileChannel channel = in.getChannel();
+			long size = channel.size();
+			ByteBuffer bytes;
+			if (size >= MAP_THRESHOLD)
+				bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			else {
+				bytes = ByteBuffer.allocate((int)size);
+				while (bytes.hasRemaining() && channel.read(bytes) >= 0)
+					;
+				bytes.flip();
+			}
+			CharBuffer text = UTF8.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE)
+				.decode(bytes);
+			// decode() returns a buffer backed by an array, so no copy is needed.
+			chars = text.array();
+			length = text.limit();
+		} finally {
+			in.close();
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	// getChars: the decoded characters; only the first length() of them are part of the file.
+	public char[] getChars() {
+		return chars;
+	}
+
+	public int length() {
+		return length;
+	}
+
+	// getLine: returns line number 'line' (starting at 1) without its line terminator.
+	public String getLine(int line) {
+		if (lineStarts == null)
+			findLineStarts();
+		if (line < 1 || line > lineStarts.length)
+			return "";
+		int start = lineStarts[line-1];
+		int end = start;
+		while (end < length && chars[end] != '\n' && chars[end] != '\r')
+			end++;
+		return new String(chars, start, end - start);
+	}
+
+	// findLineStarts: records where each line starts. \r, \n and \r\n all end a line (like the scanner).
+	private void findLineStarts() {
+		int count = 1;
+		for (int i=0; i<length; i++)
+			if (chars[i] == '\n' || (chars[i] == '\r' && (i+1 == length || chars[i+1] != '\n')))
+				count++;
+		lineStarts = new int[count];
+		count = 1;
+		for (int i=0; i<length; i++)
+			if (chars[i] == '\n' || (chars[i] == '\r' && (i+1 == length || chars[i+1] != '\n')))
+				lineStarts[count++] = i+1;
+	}
+}
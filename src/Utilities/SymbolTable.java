@@ -2,19 +2,33 @@ package Utilities;
 
 import java.util.*;
 
-/** The symbol table class.  Each symbol table contains a Vector that
+/** The symbol table class.  Each symbol table contains a map that
  * contains the symbols defined in the scope that it corresponds to, and a
  * reference to the symbol table for its enclosing scope (if any).
+ *
+ * The scopes opened by newScope() (for methods, blocks, for loops, ...) do
+ * not get a map of their own. All the scopes opened on top of the same
+ * table share one open addressed index that maps each name to its
+ * innermost declaration, so get() costs a single lookup however deeply
+ * the scopes are nested. Declaring a name in a scope records what it
+ * hides in an undo log, and closeScope() undoes the declarations of the
+ * scope being closed.
  */
 
-public class SymbolTable {
+public class SymbolTable implements java.io.Serializable {
+	private static final long serialVersionUID = 1L;
 	private SymbolTable parent;
 
-	public Hashtable<String, Object> entries;
+	public HashMap<String, Object> entries; // null for scopes opened by newScope()
+
+	private SymbolTable base = null;  // for scopes: the table the scopes were opened on
+	private transient Scopes scopes = null; // the shared index (kept by the base table)
+	private int depth = 0;            // nesting depth of a scope (the base table is 0)
+	private int mark;                 // size of the undo log when this scope was opened
 
 	public SymbolTable() {
 		parent = null;
-		entries = new Hashtable<String, Object>();
+		entries = new HashMap<String, Object>();
 	}
 
 	public SymbolTable(SymbolTable parent) {
@@ -22,8 +36,18 @@ public class SymbolTable {
 		this.parent = parent;
 	}
 
+	private SymbolTable(SymbolTable parent, SymbolTable base, int depth) {
+		this.parent = parent;
+		this.base = base;
+		this.depth = depth;
+		this.mark = base.scopes.logSize;
+	}
+
 	public void remove(String name) {
-		entries.remove(name);
+		if (entries == null)
+			base.scopes.undefine(name, depth);
+		else
+			entries.remove(name);
 	}
 
 	/**
@@ -32,6 +56,13 @@ public class SymbolTable {
 	 * @param entry The entry.
 	 */
 	public void put(String name,Object entry) {
+		if (entries == null) {
+			if (!base.scopes.define(name, entry, depth)) {
+				System.out.println("Symbol '" + name + "' already defined in this scope.");
+				System.exit(1);
+			}
+			return;
+		}
 		Object lookup = entries.get(name);
 		if (lookup != null) {
 			System.out.println("Symbol '" + name + "' already defined in this scope.");
@@ -46,6 +77,12 @@ public class SymbolTable {
 	 * @return The associated object - null if no entry is found by that name.
 	 */
 	public Object get(String name) {
+		if (entries == null) {
+			Object result = base.scopes.lookup(name);
+			if (result != null)
+				return result;
+			return base.get(name);
+		}
 		Object result = entries.get(name);
 		if (result!=null)
 			return result;
@@ -59,6 +96,8 @@ public class SymbolTable {
 		String s = "";
 		if (parent != null)
 			s = "\n" + parent.toString();
+		if (entries == null)
+			return base.scopes.toString(depth) + s;
 		return entries.toString() + s;
 	}
 
@@ -67,7 +106,10 @@ public class SymbolTable {
 	 * @return The new scope.
 	 */
 	public SymbolTable newScope() {
-		return new SymbolTable(this);
+		SymbolTable b = (entries == null ? base : this);
+		if (b.scopes == null)
+			b.scopes = new Scopes();
+		return new SymbolTable(this, b, depth + 1);
 	}
 
 	/** 
@@ -75,11 +117,117 @@ public class SymbolTable {
 	 * @return the current scope's parent scope.
 	 */
 	public SymbolTable closeScope() {
+		if (entries == null)
+			base.scopes.undo(mark);
 		return parent;
 	}
 
-}
+	/** The index shared by the scopes opened on a table. Names are never removed
+	 * from it; a name that is not declared in any open scope just has no entry.
+	 */
+	private static class Scopes {
+		private String[] names = new String[64];
+		private Object[] entries = new Object[64];
+		private int[] depths = new int[64];
+		private int size = 0;
+
+		// the undo log: the slot changed and what it held before
+		private int[] logSlots = new int[32];
+		private Object[] logEntries = new Object[32];
+		private int[] logDepths = new int[32];
+		int logSize = 0;
+
+		private int slot(String name) {
+			int mask = names.length - 1;
+			int h = name.hashCode();
+			int i = (h ^ (h >>> 16)) & mask;
+			while (names[i] != null && names[i] != name && !names[i].equals(name))
+				i = (i + 1) & mask;
+			return i;
+		}
 
+		Object lookup(String name) {
+			int i = slot(name);
+			return names[i] == null ? null : entries[i];
+		}
 
+		// define: declares 'name' in the scope at 'depth'; false if it is already declared there.
+		boolean define(String name, Object entry, int depth) {
+			int i = slot(name);
+			if (names[i] == null) {
+				if ((size + 1) * 2 > names.length) {
+					grow();
+					i = slot(name);
+				}
+				names[i] = name;
+				size++;
+			} else if (entries[i] != null && depths[i] == depth)
+				return false;
+			log(i);
+			entries[i] = entry;
+			depths[i] = depth;
+			return true;
+		}
 
+		void undefine(String name, int depth) {
+			int i = slot(name);
+			if (names[i] != null && entries[i] != null && depths[i] == depth) {
+				log(i);
+				entries[i] = null;
+			}
+		}
+
+		private void log(int i) {
+			if (logSize == logSlots.length) {
+				logSlots = Arrays.copyOf(logSlots, logSize * 2);
+				logEntries = Arrays.copyOf(logEntries, logSize * 2);
+				logDepths = Arrays.copyOf(logDepths, logSize * 2);
+			}
+			logSlots[logSize] = i;
+			logEntries[logSize] = entries[i];
+			logDepths[logSize] = depths[i];
+			logSize++;
+		}
+
+		// undo: takes back all the changes made after the undo log had 'mark' entries.
+		void undo(int mark) {
+			while (logSize > mark) {
+				logSize--;
+				int i = logSlots[logSize];
+				entries[i] = logEntries[logSize];
+				depths[i] = logDepths[logSize];
+				logEntries[logSize] = null;
+			}
+		}
 
+		// grow: doubles the index and renumbers the slots in the undo log.
+		private void grow() {
+			String[] oldNames = names;
+			Object[] oldEntries = entries;
+			int[] oldDepths = depths;
+			int[] moved = new int[oldNames.length];
+			names = new String[oldNames.length * 2];
+			entries = new Object[oldNames.length * 2];
+			depths = new int[oldNames.length * 2];
+			for (int j=0; j<oldNames.length; j++)
+				if (oldNames[j] != null) {
+					int i = slot(oldNames[j]);
+					names[i] = oldNames[j];
+					entries[i] = oldEntries[j];
+					depths[i] = oldDepths[j];
+					moved[j] = i;
+				}
+			for (int j=0; j<logSize; j++)
+				logSlots[j] = moved[logSlots[j]];
+		}
+
+		// toString: the entries declared in the scope at 'depth'.
+		String toString(int depth) {
+			HashMap<String,Object> m = new HashMap<String,Object>();
+			for (int i=0; i<names.length; i++)
+				if (names[i] != null && entries[i] != null && depths[i] == depth)
+					m.put(names[i], entries[i]);
+			return m.toString();
+		}
+	}
+}
@@ -10,7 +10,9 @@ import AST.*;
 public abstract class Visitor {
 
 	// The 'debug' field should be set in the constructor of the 
-	// extending class.
+	// extending class. print() and println() do nothing when it is
+	// false, but their argument is still built, so calls that put a
+	// message together are written as 'if (debug) println(...)'.
 	protected static boolean debug;
 
 	public static void print(String info) {
@@ -22,6 +24,15 @@ public abstract class Visitor {
 		if (debug) 
 			System.out.println(info);
 	}
+
+	// Set while the visitor runs as a pass of a FusedVisitor walk. The walk visits
+	// the children of every node itself, so visitChildren() does nothing then.
+	boolean fused = false;
+
+	public boolean inFusedWalk() {
+		return fused;
+	}
+
 	public Object visitArrayAccessExpr(ArrayAccessExpr ae) {
 		return ae.visitChildren(this);
 	}